@@ -0,0 +1,56 @@
+package sudoku;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks das análises que não dependem do motor: contagem paralela e
+ * avaliação de dificuldade
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AnalysisBenchmark {
+    @Param({ "easy", "medium", "hard", "17-clue" })
+    public String puzzle;
+
+    private SudokuBoard board;
+    private SudokuSolver solver;
+
+    @Setup
+    public void setUp() {
+        board = BenchmarkCorpus.puzzle(puzzle);
+        solver = new SudokuSolver();
+    }
+
+    /**
+     * Contagem no pool comum do ForkJoin; o profiler de GC soma as alocações
+     * de todas as threads vivas, e as do pool continuam vivas entre as chamadas
+     */
+    @Benchmark
+    public int countSolutionsParallel() {
+        return solver.countSolutionsParallel(board);
+    }
+
+    /**
+     * Um avaliador novo a cada chamada, para não medir o cache
+     */
+    @Benchmark
+    public int grade() {
+        return new DifficultyGrader().grade(board);
+    }
+}
@@ -0,0 +1,57 @@
+package sudoku;
+
+/**
+ * Corpus fixo dos benchmarks
+ *
+ * Os puzzles e a semente do gerador nunca mudam, para que os números sejam
+ * comparáveis entre versões.
+ */
+final class BenchmarkCorpus {
+    // Semente de todos os geradores aleatórios dos benchmarks
+    static final long SEED = 20240501L;
+
+    static final String EASY = "003020600900305001001806400008102900700000008006708200002609500800203009005010300";
+    static final String MEDIUM = "200080300060070084030500209000105408000000000402706000301007040720040060004010003";
+    static final String HARD = "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......";
+    static final String SEVENTEEN_CLUE = "000000010400000000020000000000050407008000300001090000300400200050100000000806000";
+
+    private BenchmarkCorpus() {
+    }
+
+    /**
+     * Obtém um puzzle do corpus pelo nome usado nos parâmetros dos benchmarks
+     *
+     * @param name easy, medium, hard ou 17-clue
+     * @return um tabuleiro novo com o puzzle
+     * @throws IllegalArgumentException se o nome não existir no corpus
+     */
+    static SudokuBoard puzzle(String name) {
+        switch (name) {
+            case "easy":
+                return parse(EASY);
+            case "medium":
+                return parse(MEDIUM);
+            case "hard":
+                return parse(HARD);
+            case "17-clue":
+                return parse(SEVENTEEN_CLUE);
+            default:
+                throw new IllegalArgumentException("Puzzle desconhecido: " + name);
+        }
+    }
+
+    /**
+     * Lê um puzzle de 81 caracteres ('1'-'9' preenchido, qualquer outro vazio)
+     *
+     * @param text o puzzle em ordem de linha
+     * @return um tabuleiro novo com as células preenchidas
+     */
+    static SudokuBoard parse(String text) {
+        SudokuBoard board = new SudokuBoard();
+        for (int cell = 0; cell < 81; cell++) {
+            char c = text.charAt(cell);
+            board.setCellValue(cell, c >= '1' && c <= '9' ? c - '0' : 0);
+        }
+        return board;
+    }
+}
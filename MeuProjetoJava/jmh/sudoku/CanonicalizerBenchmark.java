@@ -0,0 +1,52 @@
+package sudoku;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks da forma canônica, o custo que cada puzzle paga na deduplicação
+ * do SudokuBatchGenerator
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CanonicalizerBenchmark {
+    @Param({ "easy", "medium", "hard", "17-clue" })
+    public String puzzle;
+
+    private SudokuBoard board;
+    private SudokuCanonicalizer canonicalizer;
+    private long[] fingerprint;
+
+    @Setup
+    public void setUp() {
+        board = BenchmarkCorpus.puzzle(puzzle);
+        canonicalizer = new SudokuCanonicalizer();
+        fingerprint = new long[2];
+    }
+
+    @Benchmark
+    public int canonicalForm() {
+        return canonicalizer.canonicalForm(board).getCellValue(80);
+    }
+
+    @Benchmark
+    public long fingerprint() {
+        canonicalizer.fingerprint(board, fingerprint);
+        return fingerprint[0] ^ fingerprint[1];
+    }
+}
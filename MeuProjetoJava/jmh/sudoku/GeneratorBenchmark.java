@@ -0,0 +1,98 @@
+package sudoku;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks do gerador de grades completas e de puzzles
+ *
+ * Cada fork recria os geradores com a mesma semente, então todos os forks
+ * percorrem a mesma sequência de grades.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class GeneratorBenchmark {
+    /**
+     * Gerador de grades completas
+     */
+    @State(Scope.Benchmark)
+    public static class Grids {
+        // Grades completas por busca; 64 mede o caminho das transformações
+        @Param({ "1", "64" })
+        public int gridsPerSearch;
+
+        private SolutionGridGenerator generator;
+        private byte[] grid;
+
+        @Setup
+        public void setUp() {
+            generator = new SolutionGridGenerator(3, new SplittableRandom(BenchmarkCorpus.SEED), gridsPerSearch);
+            grid = new byte[81];
+        }
+    }
+
+    /**
+     * Gerador de puzzles por quantidade de células vazias
+     */
+    @State(Scope.Benchmark)
+    public static class Holes {
+        @Param({ "40", "55" })
+        public int emptyCells;
+
+        private SudokuGenerator generator;
+
+        @Setup
+        public void setUp() {
+            generator = new SudokuGenerator(new SplittableRandom(BenchmarkCorpus.SEED));
+        }
+    }
+
+    /**
+     * Gerador de puzzles por faixa de dificuldade
+     */
+    @State(Scope.Benchmark)
+    public static class Levels {
+        @Param({ "EASY", "MEDIUM", "HARD", "EXPERT" })
+        public String difficulty;
+
+        private SudokuGenerator generator;
+        private Difficulty level;
+
+        @Setup
+        public void setUp() {
+            generator = new SudokuGenerator(new SplittableRandom(BenchmarkCorpus.SEED));
+            level = Difficulty.valueOf(difficulty);
+        }
+    }
+
+    @Benchmark
+    public int solutionGrid(Grids state) {
+        state.generator.fill(state.grid, 0);
+        return state.grid[80];
+    }
+
+    @Benchmark
+    public int generatePuzzle(Holes state) {
+        return state.generator.generatePuzzle(new SudokuBoard(), state.emptyCells);
+    }
+
+    @Benchmark
+    public int generatePuzzleForDifficulty(Levels state) {
+        return state.generator.generatePuzzle(new SudokuBoard(), state.level);
+    }
+}
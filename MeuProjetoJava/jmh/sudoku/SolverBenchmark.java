@@ -0,0 +1,59 @@
+package sudoku;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks do SudokuSolver sobre o corpus fixo
+ *
+ * O backtracking leva segundos nos puzzles difíceis e por isso fica fora da
+ * lista padrão de motores; para medi-lo, use -p engine=BACKTRACKING -p
+ * puzzle=easy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SolverBenchmark {
+    @Param({ "easy", "medium", "hard", "17-clue" })
+    public String puzzle;
+
+    @Param({ "BITMASK", "DLX" })
+    public String engine;
+
+    private SudokuBoard board;
+    private SudokuSolver solver;
+
+    @Setup
+    public void setUp() {
+        board = BenchmarkCorpus.puzzle(puzzle);
+        solver = new SudokuSolver(SolverEngine.valueOf(engine));
+    }
+
+    /**
+     * Resolve uma cópia do puzzle; inclui o custo de copy()
+     */
+    @Benchmark
+    public int solve() {
+        SudokuBoard copy = board.copy();
+        return solver.solve(copy) ? copy.getCellValue(80) : -1;
+    }
+
+    @Benchmark
+    public int countSolutions() {
+        return solver.countSolutions(board.copy());
+    }
+}
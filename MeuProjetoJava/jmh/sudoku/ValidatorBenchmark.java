@@ -0,0 +1,88 @@
+package sudoku;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks da validação e das operações básicas do tabuleiro
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ValidatorBenchmark {
+    private static final int BATCH_SIZE = 4096; // Tabuleiros por operação em lote
+
+    private SudokuBoard solved;
+    private SudokuBoard medium;
+    private SudokuSolver validator;
+    private GridBatch batch;
+    private BatchValidator batchValidator;
+    private long[] bitmap;
+
+    @Setup
+    public void setUp() {
+        solved = BenchmarkCorpus.parse(BenchmarkCorpus.EASY);
+        new SudokuSolver().solve(solved);
+        medium = BenchmarkCorpus.parse(BenchmarkCorpus.MEDIUM);
+        validator = new SudokuSolver();
+
+        // Lote com a solução e variações inválidas (uma célula trocada)
+        batch = new GridBatch(3, BATCH_SIZE);
+        SplittableRandom random = new SplittableRandom(BenchmarkCorpus.SEED);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            SudokuBoard board = solved.copy();
+            if (random.nextBoolean()) {
+                board.setCellValue(random.nextInt(81), random.nextInt(9) + 1);
+            }
+            batch.add(board);
+        }
+        batchValidator = new BatchValidator(3);
+        bitmap = new long[BATCH_SIZE / GridBatch.BLOCK];
+    }
+
+    @Benchmark
+    public boolean isValidSolution() {
+        return validator.isValidSolution(solved);
+    }
+
+    /**
+     * Tempo por tabuleiro do lote
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int validateBatch() {
+        return batchValidator.validate(batch, bitmap);
+    }
+
+    /**
+     * Percorre as 81 células com um dígito diferente em cada uma
+     */
+    @Benchmark
+    @OperationsPerInvocation(81)
+    public void isValidMove(Blackhole blackhole) {
+        for (int cell = 0; cell < 81; cell++) {
+            blackhole.consume(medium.isValidMove(cell / 9, cell % 9, cell % 9 + 1));
+        }
+    }
+
+    @Benchmark
+    public int copy() {
+        return medium.copy().getCellValue(0);
+    }
+}
@@ -0,0 +1,211 @@
+package sudoku;
+
+import java.util.Arrays;
+
+/**
+ * Validação de soluções em lote, 64 tabuleiros por operação
+ *
+ * Mesma regra de SudokuSolver.isValidSolution (toda unidade tem todos os
+ * dígitos), aplicada a um GridBatch com paralelismo de bits dentro de longs
+ * (SWAR): em vez de um tabuleiro por vez, cada long carrega um bit de cada um
+ * de 64 tabuleiros, e uma operação lógica avança os 64 juntos.
+ *
+ * Para cada bloco de 64 tabuleiros:
+ *
+ * 1. Os bytes de cada célula são transpostos em planos de bits: o plano k
+ * guarda o bit k do valor da célula em cada tabuleiro. Cada long do lote é
+ * girado pela sua posição no bloco, e o plano junta os bits k com um E e um
+ * OU por long, sem desvios. Os tabuleiros ficam embaralhados dentro do plano
+ * (o bit 8i + j é o tabuleiro 8j + i), igual em todos os planos; uma
+ * transposição 8x8 desfaz a ordem no resultado do bloco.
+ *
+ * 2. Os planos viram máscaras de dígito: o bit de um tabuleiro na máscara do
+ * dígito d está ligado se a célula vale d nele, combinando os planos ou seus
+ * complementos conforme os bits de d (em pares, para reaproveitar os E entre
+ * dígitos). Vazias (0) e valores acima do tamanho não ligam nenhum dígito;
+ * valores que não cabem nos planos são raros e conferidos à parte. Cada
+ * máscara entra por OU na presença do dígito nas três unidades da célula.
+ *
+ * 3. Com tamanho células por unidade, a unidade está correta se cada dígito
+ * aparece em alguma delas: o E de todas as presenças dá os tabuleiros
+ * válidos.
+ *
+ * O resultado é um mapa de bits (bit g % 64 do long g / 64 ligado se o
+ * tabuleiro g for válido). A instância guarda áreas de trabalho e não deve
+ * ser compartilhada entre threads.
+ */
+class BatchValidator {
+    private static final int MAX_BITS = 5; // Bits do maior dígito (25)
+    private static final long LOW_BITS = 0x0101010101010101L; // Bit 0 de cada byte
+    private static final long LOW_SEVEN = 0x7F7F7F7F7F7F7F7FL;
+    private static final long HIGH_BITS = 0x8080808080808080L; // Bit 7 de cada byte
+
+    private final SudokuGeometry geometry;
+    private final int bits; // Bits necessários para o maior dígito
+    private final long overflowMask; // Bits de cada byte acima dos planos
+
+    private final long[] planeMasks = new long[MAX_BITS]; // -1 nos planos usados
+    private final long[] low = new long[4]; // Combinações dos planos 0 e 1
+    private final long[] mid = new long[4]; // Combinações dos planos 2 e 3
+    private final long[] present; // [unidade * tamanho + dígito - 1]
+
+    /**
+     * Construtor da classe BatchValidator
+     *
+     * @param boxSize lado de um quadrante (3 para o 9x9)
+     */
+    public BatchValidator(int boxSize) {
+        this.geometry = SudokuGeometry.of(boxSize);
+        this.bits = 32 - Integer.numberOfLeadingZeros(geometry.size);
+        this.overflowMask = LOW_BITS * (0xFF & (0xFF << bits));
+        this.present = new long[geometry.units.length * geometry.size];
+        for (int k = 0; k < bits; k++) {
+            planeMasks[k] = -1L;
+        }
+    }
+
+    /**
+     * Valida todos os tabuleiros do lote
+     *
+     * @param batch lote do tamanho deste validador
+     * @return mapa de bits com os tabuleiros válidos
+     */
+    public long[] validate(GridBatch batch) {
+        long[] result = new long[(batch.size() + GridBatch.BLOCK - 1) / GridBatch.BLOCK];
+        validate(batch, result);
+        return result;
+    }
+
+    /**
+     * Valida todos os tabuleiros do lote em um mapa de bits existente
+     *
+     * @param batch  lote do tamanho deste validador
+     * @param result destino com pelo menos (size() + 63) / 64 longs; os bits
+     *               além de size() são zerados
+     * @return a quantidade de tabuleiros válidos
+     */
+    public int validate(GridBatch batch, long[] result) {
+        if (batch.getGeometry() != geometry) {
+            throw new IllegalArgumentException("Lote de tamanho " + batch.getGeometry().size + ", esperado "
+                    + geometry.size);
+        }
+
+        int blocks = (batch.size() + GridBatch.BLOCK - 1) / GridBatch.BLOCK;
+        int valid = 0;
+        for (int block = 0; block < blocks; block++) {
+            long mask = validateBlock(batch.words(), batch.wordsPerCell(), block * 8);
+
+            // Posições vazias do último bloco não são tabuleiros
+            int remaining = batch.size() - block * GridBatch.BLOCK;
+            if (remaining < GridBatch.BLOCK) {
+                mask &= (1L << remaining) - 1;
+            }
+            result[block] = mask;
+            valid += Long.bitCount(mask);
+        }
+        return valid;
+    }
+
+    /**
+     * Valida um bloco de 64 tabuleiros
+     *
+     * @param words        longs do lote
+     * @param wordsPerCell longs de cada célula no lote
+     * @param offset       primeiro long do bloco dentro de cada célula
+     * @return um bit por tabuleiro, ligado se for válido
+     */
+    private long validateBlock(long[] words, int wordsPerCell, int offset) {
+        int size = geometry.size;
+        long overflow = 0;
+
+        Arrays.fill(present, 0L);
+        for (int cell = 0; cell < geometry.cellCount; cell++) {
+            // 1. Planos de bits da célula nos 64 tabuleiros; os planos acima
+            // de bits só recebem valores que não cabem neles
+            long p0 = 0, p1 = 0, p2 = 0, p3 = 0, p4 = 0;
+            int base = cell * wordsPerCell + offset;
+            for (int j = 0; j < 8; j++) {
+                long word = words[base + j];
+                overflow |= word;
+                long rotated = Long.rotateLeft(word, j);
+                long select = Long.rotateLeft(LOW_BITS, j);
+                p0 |= rotated & select;
+                p1 |= rotated & Long.rotateLeft(select, 1);
+                p2 |= rotated & Long.rotateLeft(select, 2);
+                p3 |= rotated & Long.rotateLeft(select, 3);
+                p4 |= rotated & Long.rotateLeft(select, 4);
+            }
+            p1 = Long.rotateRight(p1, 1) & planeMasks[1];
+            p2 = Long.rotateRight(p2, 2) & planeMasks[2];
+            p3 = Long.rotateRight(p3, 3) & planeMasks[3];
+            p4 = Long.rotateRight(p4, 4) & planeMasks[4];
+
+            // 2. Máscara de cada dígito
+            low[0] = ~p0 & ~p1;
+            low[1] = p0 & ~p1;
+            low[2] = ~p0 & p1;
+            low[3] = p0 & p1;
+            mid[0] = ~p2 & ~p3;
+            mid[1] = p2 & ~p3;
+            mid[2] = ~p2 & p3;
+            mid[3] = p2 & p3;
+            int[] units = geometry.unitsOf[cell];
+            int row = units[0] * size - 1;
+            int col = units[1] * size - 1;
+            int box = units[2] * size - 1;
+            for (int digit = 1; digit <= size; digit++) {
+                long high = (digit & 16) != 0 ? p4 : ~p4;
+                long mask = low[digit & 3] & mid[digit >>> 2 & 3] & high;
+                present[row + digit] |= mask;
+                present[col + digit] |= mask;
+                present[box + digit] |= mask;
+            }
+        }
+
+        // 3. Cada dígito em cada unidade
+        long valid = -1L;
+        for (long mask : present) {
+            valid &= mask;
+        }
+        valid = transpose(valid);
+
+        // Algum valor com bits acima dos planos: descarta esses tabuleiros
+        if ((overflow & overflowMask) != 0) {
+            valid &= ~overflowLanes(words, wordsPerCell, offset);
+        }
+        return valid;
+    }
+
+    /**
+     * Marca os tabuleiros do bloco com algum valor que não cabe nos planos
+     */
+    private long overflowLanes(long[] words, int wordsPerCell, int offset) {
+        long lanes = 0;
+        for (int cell = 0; cell < geometry.cellCount; cell++) {
+            int base = cell * wordsPerCell + offset;
+            for (int j = 0; j < 8; j++) {
+                // Bit 7 ligado em cada byte diferente de zero
+                long high = words[base + j] & overflowMask;
+                high = ((high & LOW_SEVEN) + LOW_SEVEN | high) & HIGH_BITS;
+                for (int i = 0; i < 8; i++) {
+                    if ((high >>> (8 * i + 7) & 1) != 0) {
+                        lanes |= 1L << (8 * j + i);
+                    }
+                }
+            }
+        }
+        return lanes;
+    }
+
+    /**
+     * Transpõe a matriz de 8x8 bits de um long: o bit 8i + j vai para 8j + i
+     */
+    private static long transpose(long x) {
+        long t = (x ^ (x >>> 7)) & 0x00AA00AA00AA00AAL;
+        x = x ^ t ^ (t << 7);
+        t = (x ^ (x >>> 14)) & 0x0000CCCC0000CCCCL;
+        x = x ^ t ^ (t << 14);
+        t = (x ^ (x >>> 28)) & 0x00000000F0F0F0F0L;
+        return x ^ t ^ (t << 28);
+    }
+}
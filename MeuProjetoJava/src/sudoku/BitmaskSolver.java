@@ -0,0 +1,581 @@
+package sudoku;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Motor de resolução de Sudoku baseado em máscaras de bits
+ *
+ * Mantém, para cada linha, coluna e quadrante, uma máscara de bits com os
+ * dígitos já utilizados. A próxima célula é escolhida pelo critério de menor
+ * número de candidatos (MRV) e, antes de cada ramificação, são aplicados os
+ * singles nus (célula com um único candidato) e ocultos (dígito com um único
+ * lugar possível na unidade).
+ *
+ * Cada instância resolve tabuleiros de um único tamanho, usando as tabelas
+ * compartilhadas de SudokuGeometry, e é obtida por forBoxSize: o 9x9 usa
+ * StandardBitmaskSolver, em que os métodos mais chamados da busca usam
+ * tabelas e limites constantes. Todos os arrays são alocados no construtor; a
+ * busca em si não aloca memória. Cada instância guarda estado e não deve ser
+ * compartilhada entre threads.
+ */
+class BitmaskSolver {
+    // Valores de retorno especiais de propagate() e propagateInto()
+    static final int SOLVED = -1;
+    static final int CONTRADICTION = -2;
+
+    // Tabelas compartilhadas do tamanho resolvido por esta instância
+    private final int boxSize;
+    private final int size;
+    private final int cellCount;
+    private final int allDigits; // Bits de todos os dígitos ligados
+    private final int[] rowOf;
+    private final int[] colOf;
+    private final int[] boxOf;
+    private final int[][] units; // Linhas, colunas e quadrantes
+
+    // Estado da busca, visível para StandardBitmaskSolver
+    final int[] grid; // Valores atuais (0 = vazio)
+    final int[] rowUsed; // Dígitos usados em cada linha
+    final int[] colUsed; // Dígitos usados em cada coluna
+    final int[] boxUsed; // Dígitos usados em cada quadrante
+
+    // Pilha de células preenchidas, usada para desfazer atribuições
+    final int[] trail;
+    int trailSize;
+
+    // Bit ligado para cada célula vazia, 64 células por long
+    final long[] emptyCells;
+    int emptyCount;
+
+    private final int[] solution; // Primeira solução encontrada
+    private int solutionCount;
+    private int limit;
+    private AtomicInteger sharedCount; // Contador de outras buscas paralelas, ou null
+    private SolverMetrics metrics; // null quando as métricas estão desligadas
+
+    /**
+     * Cria um motor para tabuleiros com quadrantes de boxSize x boxSize
+     *
+     * @param boxSize lado do quadrante (2 a 5)
+     * @return o motor especializado no 9x9 para boxSize 3, ou o genérico
+     * @throws IllegalArgumentException se o tamanho não for suportado
+     */
+    static BitmaskSolver forBoxSize(int boxSize) {
+        return boxSize == StandardBitmaskSolver.BOX_SIZE ? new StandardBitmaskSolver() : new BitmaskSolver(boxSize);
+    }
+
+    /**
+     * Cria um motor genérico para tabuleiros com quadrantes de boxSize x boxSize
+     *
+     * @param boxSize lado do quadrante (2 a 5)
+     * @throws IllegalArgumentException se o tamanho não for suportado
+     */
+    BitmaskSolver(int boxSize) {
+        SudokuGeometry geometry = SudokuGeometry.of(boxSize);
+        this.boxSize = boxSize;
+        this.size = geometry.size;
+        this.cellCount = geometry.cellCount;
+        this.allDigits = geometry.allDigits;
+        this.rowOf = geometry.rowOf;
+        this.colOf = geometry.colOf;
+        this.boxOf = geometry.boxOf;
+        this.units = geometry.units;
+
+        grid = new int[cellCount];
+        rowUsed = new int[size];
+        colUsed = new int[size];
+        boxUsed = new int[size];
+        trail = new int[cellCount];
+        emptyCells = new long[(cellCount + 63) >>> 6];
+        solution = new int[cellCount];
+    }
+
+    /**
+     * Obtém o lado do quadrante dos tabuleiros resolvidos por este motor
+     *
+     * @return 3 para o tabuleiro 9x9
+     */
+    public int getBoxSize() {
+        return boxSize;
+    }
+
+    /**
+     * Resolve o tabuleiro, preenchendo as células vazias com a primeira solução
+     * encontrada. Se não houver solução, o tabuleiro não é alterado.
+     *
+     * @param board o tabuleiro a ser resolvido
+     * @return true se encontrou uma solução, false caso contrário
+     */
+    public boolean solve(SudokuBoard board) {
+        return solve(board, SolverMetrics.NONE);
+    }
+
+    /**
+     * Resolve o tabuleiro registrando as métricas da busca
+     *
+     * @param board   o tabuleiro a ser resolvido
+     * @param metrics coletor das métricas
+     * @return true se encontrou uma solução, false caso contrário
+     */
+    public boolean solve(SudokuBoard board, SolverMetrics metrics) {
+        if (run(board, 1, null, metrics) == 0) {
+            return false;
+        }
+
+        copySolution(board);
+        return true;
+    }
+
+    /**
+     * Conta as soluções até o limite e preenche o tabuleiro com a primeira
+     * 
+     * Com limite 2, uma única busca diz se o puzzle tem solução, se ela é
+     * única e qual é.
+     *
+     * @param board o tabuleiro a ser resolvido; não é alterado se não houver
+     *              solução
+     * @param limit número máximo de soluções a contar
+     * @return o número de soluções encontradas (no máximo limit)
+     */
+    public int solveAndCount(SudokuBoard board, int limit) {
+        int count = run(board, limit, null, SolverMetrics.NONE);
+        if (count > 0) {
+            copySolution(board);
+        }
+        return count;
+    }
+
+    /**
+     * Copia a primeira solução para as células que estavam vazias
+     */
+    private void copySolution(SudokuBoard board) {
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (board.getCellValue(cell) == 0) {
+                board.setCellValue(cell, solution[cell]);
+            }
+        }
+    }
+
+    /**
+     * Conta as soluções do tabuleiro, parando ao atingir o limite informado
+     *
+     * @param board o tabuleiro a ser verificado (não é alterado)
+     * @param limit número máximo de soluções a contar
+     * @return o número de soluções encontradas (no máximo limit)
+     */
+    public int countSolutions(SudokuBoard board, int limit) {
+        return run(board, limit, null, SolverMetrics.NONE);
+    }
+
+    /**
+     * Conta as soluções do tabuleiro registrando as métricas da busca
+     *
+     * @param board   o tabuleiro a ser verificado (não é alterado)
+     * @param limit   número máximo de soluções a contar
+     * @param metrics coletor das métricas
+     * @return o número de soluções encontradas (no máximo limit)
+     */
+    public int countSolutions(SudokuBoard board, int limit, SolverMetrics metrics) {
+        return run(board, limit, null, metrics);
+    }
+
+    /**
+     * Conta as soluções de uma subárvore da busca paralela
+     * 
+     * Cada solução encontrada é somada ao contador compartilhado, e a busca é
+     * abandonada assim que o contador (de todas as subárvores) atinge o limite.
+     *
+     * @param board  o tabuleiro a ser verificado (não é alterado)
+     * @param limit  número máximo de soluções a contar
+     * @param shared contador compartilhado entre as buscas, ou null
+     * @return o número de soluções encontradas nesta subárvore
+     */
+    public int countSolutions(SudokuBoard board, int limit, AtomicInteger shared) {
+        return run(board, limit, shared, SolverMetrics.NONE);
+    }
+
+    /**
+     * Carrega um puzzle de solução única para uma sequência de remoções
+     * 
+     * As pistas ficam no estado interno do motor entre as chamadas de
+     * tryRemove e restore, de modo que cada remoção custa só a busca, sem
+     * recarregar nem copiar o tabuleiro. Outras chamadas ao motor descartam
+     * esse estado.
+     *
+     * @param board o puzzle (por exemplo, uma grade completa); não é alterado
+     * @return false se as pistas estiverem em conflito entre si
+     */
+    public boolean beginRemovals(SudokuBoard board) {
+        checkSize(board);
+        return load(board);
+    }
+
+    /**
+     * Remove a pista de uma célula se a solução continuar única
+     * 
+     * Como a solução era única antes da remoção, basta saber se existe uma
+     * solução com outro dígito nessa célula: só os demais candidatos da célula
+     * são tentados, e a busca para na primeira solução encontrada.
+     *
+     * @param cell índice da célula, que precisa ter uma pista
+     * @return true se a pista foi removida; false se a remoção permitiria
+     *         outra solução, caso em que a pista é mantida
+     */
+    public boolean tryRemove(int cell) {
+        int value = grid[cell];
+        unassignGiven(cell);
+
+        limit = 1;
+        solutionCount = 0;
+        int alternatives = candidates(cell) & ~(1 << (value - 1));
+        while (alternatives != 0 && solutionCount == 0) {
+            int bit = alternatives & -alternatives;
+            alternatives ^= bit;
+
+            assign(cell, Integer.numberOfTrailingZeros(bit) + 1);
+            search(0);
+            undo(0);
+        }
+
+        if (solutionCount != 0) {
+            restore(cell, value);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Devolve uma pista removida por tryRemove
+     *
+     * @param cell  índice da célula
+     * @param value valor da pista
+     */
+    public void restore(int cell, int value) {
+        assign(cell, value);
+        trailSize = 0; // Pistas não fazem parte da pilha
+    }
+
+    /**
+     * Carrega o tabuleiro e executa a busca até o limite de soluções
+     *
+     * @param board   o tabuleiro de origem
+     * @param limit   número máximo de soluções a contar
+     * @param shared  contador compartilhado entre buscas paralelas, ou null
+     * @param metrics coletor das métricas
+     * @return o número de soluções encontradas
+     */
+    private int run(SudokuBoard board, int limit, AtomicInteger shared, SolverMetrics metrics) {
+        checkSize(board);
+        metrics.started();
+        try {
+            if (!load(board)) {
+                return 0;
+            }
+
+            this.limit = limit;
+            this.sharedCount = shared;
+            this.metrics = metrics == SolverMetrics.NONE ? null : metrics;
+            search(0);
+            return solutionCount;
+        } finally {
+            this.sharedCount = null;
+            this.metrics = null;
+            metrics.finished();
+        }
+    }
+
+    /**
+     * Aplica a propagação de singles e grava no tabuleiro as células deduzidas
+     * 
+     * Usado pela busca paralela para dividir a árvore a partir da célula com
+     * menos candidatos depois da propagação.
+     *
+     * @param board o tabuleiro a ser propagado (as células deduzidas são
+     *              preenchidas nele)
+     * @return a célula vazia com menos candidatos, SOLVED se o tabuleiro foi
+     *         completado ou CONTRADICTION se não há solução
+     */
+    public int propagateInto(SudokuBoard board) {
+        checkSize(board);
+        if (!load(board)) {
+            return CONTRADICTION;
+        }
+
+        int result = propagate();
+        if (result == CONTRADICTION) {
+            return CONTRADICTION;
+        }
+
+        for (int i = 0; i < trailSize; i++) {
+            int cell = trail[i];
+            board.setCellValue(cell, grid[cell]);
+        }
+        return result;
+    }
+
+    /**
+     * Confere se o tabuleiro tem o tamanho resolvido por este motor
+     *
+     * @param board o tabuleiro recebido
+     * @throws IllegalArgumentException se os tamanhos forem diferentes
+     */
+    private void checkSize(SudokuBoard board) {
+        if (board.getBoxSize() != boxSize) {
+            throw new IllegalArgumentException("Tabuleiro " + board.getSize() + "x" + board.getSize()
+                    + " em um motor " + size + "x" + size);
+        }
+    }
+
+    /**
+     * Carrega o tabuleiro no estado interno do motor
+     *
+     * @param board o tabuleiro de origem
+     * @return false se as pistas já estiverem em conflito entre si
+     */
+    private boolean load(SudokuBoard board) {
+        for (int i = 0; i < size; i++) {
+            rowUsed[i] = 0;
+            colUsed[i] = 0;
+            boxUsed[i] = 0;
+        }
+        trailSize = 0;
+        emptyCount = cellCount;
+        solutionCount = 0;
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            grid[cell] = 0;
+            emptyCells[cell >>> 6] |= 1L << cell;
+        }
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            int value = board.getCellValue(cell);
+            if (value == 0) {
+                continue;
+            }
+            if ((candidates(cell) & (1 << (value - 1))) == 0) {
+                return false;
+            }
+            assign(cell, value);
+        }
+
+        // As pistas não fazem parte da busca e nunca são desfeitas
+        trailSize = 0;
+        return true;
+    }
+
+    /**
+     * Busca em profundidade com propagação; para quando solutionCount atinge
+     * o limite
+     *
+     * @param depth quantidade de ramificações acima deste nó
+     */
+    private void search(int depth) {
+        // Outra subárvore da busca paralela já atingiu o limite
+        if (sharedCount != null && sharedCount.get() >= limit) {
+            return;
+        }
+
+        if (metrics != null) {
+            metrics.nodeVisited(depth);
+        }
+        int mark = trailSize;
+        int cell = propagate();
+
+        if (cell == CONTRADICTION) {
+            if (metrics != null) {
+                metrics.backtracked();
+            }
+            undo(mark);
+            return;
+        }
+
+        if (cell == SOLVED) {
+            solutionCount++;
+            if (sharedCount != null) {
+                sharedCount.incrementAndGet();
+            }
+            if (solutionCount == 1) {
+                System.arraycopy(grid, 0, solution, 0, cellCount);
+            }
+            undo(mark);
+            return;
+        }
+
+        // Tenta cada candidato da célula com menos opções
+        int candidates = candidates(cell);
+        while (candidates != 0) {
+            int bit = candidates & -candidates;
+            candidates ^= bit;
+
+            int inner = trailSize;
+            if (metrics != null) {
+                metrics.candidateTried();
+            }
+            assign(cell, Integer.numberOfTrailingZeros(bit) + 1);
+            search(depth + 1);
+            undo(inner);
+
+            if (solutionCount >= limit || (sharedCount != null && sharedCount.get() >= limit)) {
+                break;
+            }
+        }
+
+        undo(mark);
+    }
+
+    /**
+     * Aplica singles nus e ocultos até não haver mais progresso
+     *
+     * @return a célula vazia com menos candidatos, SOLVED se o tabuleiro foi
+     *         completado ou CONTRADICTION se algum candidato se esgotou
+     */
+    int propagate() {
+        while (true) {
+            if (emptyCount == 0) {
+                return SOLVED;
+            }
+
+            boolean progress = false;
+            int best = SOLVED;
+            int bestCount = size + 1;
+
+            // Singles nus: células com um único candidato. Só as células vazias
+            // são percorridas, em ordem crescente, pelos bits de emptyCells
+            for (int word = 0; word < emptyCells.length; word++) {
+                for (long bits = emptyCells[word]; bits != 0; bits &= bits - 1) {
+                    int cell = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    int candidates = candidates(cell);
+                    if (candidates == 0) {
+                        return CONTRADICTION;
+                    }
+
+                    if ((candidates & (candidates - 1)) == 0) {
+                        assign(cell, Integer.numberOfTrailingZeros(candidates) + 1);
+                        progress = true;
+                    } else if (!progress) {
+                        int count = Integer.bitCount(candidates);
+                        if (count < bestCount) {
+                            bestCount = count;
+                            best = cell;
+                        }
+                    }
+                }
+            }
+
+            if (progress) {
+                continue;
+            }
+
+            // Singles ocultos: dígitos com um único lugar possível na unidade
+            for (int unit = 0; unit < units.length; unit++) {
+                int[] cells = units[unit];
+                int once = 0;
+                int twice = 0;
+                int placed = 0;
+
+                for (int i = 0; i < size; i++) {
+                    int cell = cells[i];
+                    if (grid[cell] != 0) {
+                        placed |= 1 << (grid[cell] - 1);
+                    } else {
+                        int candidates = candidates(cell);
+                        twice |= once & candidates;
+                        once |= candidates;
+                    }
+                }
+
+                // Algum dígito não tem mais onde ser colocado nesta unidade
+                if ((once | placed) != allDigits) {
+                    return CONTRADICTION;
+                }
+
+                int hidden = once & ~twice;
+                while (hidden != 0) {
+                    int bit = hidden & -hidden;
+                    hidden ^= bit;
+
+                    int target = -1;
+                    for (int i = 0; i < size; i++) {
+                        int cell = cells[i];
+                        if (grid[cell] == 0 && (candidates(cell) & bit) != 0) {
+                            target = cell;
+                            break;
+                        }
+                    }
+
+                    // Uma atribuição anterior nesta unidade ocupou o único lugar
+                    if (target < 0) {
+                        return CONTRADICTION;
+                    }
+
+                    assign(target, Integer.numberOfTrailingZeros(bit) + 1);
+                    progress = true;
+                }
+            }
+
+            if (!progress) {
+                return best;
+            }
+        }
+    }
+
+    /**
+     * Calcula os candidatos de uma célula como máscara de bits
+     *
+     * @param cell índice da célula (0-80 no tabuleiro 9x9)
+     * @return máscara com o bit (d - 1) ligado para cada dígito d possível
+     */
+    int candidates(int cell) {
+        return ~(rowUsed[rowOf[cell]] | colUsed[colOf[cell]] | boxUsed[boxOf[cell]]) & allDigits;
+    }
+
+    /**
+     * Preenche uma célula e atualiza as máscaras
+     *
+     * @param cell  índice da célula (0-80 no tabuleiro 9x9)
+     * @param value valor a ser definido (1-9 no tabuleiro 9x9)
+     */
+    void assign(int cell, int value) {
+        int bit = 1 << (value - 1);
+        grid[cell] = value;
+        rowUsed[rowOf[cell]] |= bit;
+        colUsed[colOf[cell]] |= bit;
+        boxUsed[boxOf[cell]] |= bit;
+        trail[trailSize++] = cell;
+        emptyCells[cell >>> 6] &= ~(1L << cell);
+        emptyCount--;
+    }
+
+    /**
+     * Esvazia uma célula preenchida fora da pilha (uma pista)
+     *
+     * @param cell índice da célula
+     */
+    void unassignGiven(int cell) {
+        int bit = ~(1 << (grid[cell] - 1));
+        grid[cell] = 0;
+        rowUsed[rowOf[cell]] &= bit;
+        colUsed[colOf[cell]] &= bit;
+        boxUsed[boxOf[cell]] &= bit;
+        emptyCells[cell >>> 6] |= 1L << cell;
+        emptyCount++;
+    }
+
+    /**
+     * Desfaz as atribuições feitas após a marca informada
+     *
+     * @param mark tamanho da pilha a ser restaurado
+     */
+    void undo(int mark) {
+        while (trailSize > mark) {
+            int cell = trail[--trailSize];
+            int bit = ~(1 << (grid[cell] - 1));
+            grid[cell] = 0;
+            rowUsed[rowOf[cell]] &= bit;
+            colUsed[colOf[cell]] &= bit;
+            boxUsed[boxOf[cell]] &= bit;
+            emptyCells[cell >>> 6] |= 1L << cell;
+            emptyCount++;
+        }
+    }
+}
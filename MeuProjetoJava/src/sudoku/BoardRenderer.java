@@ -0,0 +1,210 @@
+package sudoku;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Renderização de tabuleiros em buffers de bytes reaproveitáveis
+ *
+ * O quadro desenhado por SudokuBoard.display (cabeçalho, bordas, separadores e
+ * rótulos das linhas) é montado uma vez por tamanho de tabuleiro, guardando a
+ * posição de cada célula. Renderizar é copiar esse modelo para o buffer do
+ * chamador e escrever um byte por célula, sem formatação e sem criar objetos;
+ * o resultado pode ser enviado com uma única escrita.
+ *
+ * Também oferece a forma compacta de uma linha, com um caractere por célula em
+ * ordem de linha ('.' para vazia, '1'-'9' e depois 'A', 'B', ... nos tabuleiros
+ * maiores), usada no protocolo do servidor e em arquivos de texto.
+ *
+ * Os modelos são imutáveis e compartilhados entre threads.
+ */
+final class BoardRenderer {
+    private static final BoardRenderer[] CACHE = new BoardRenderer[SudokuGeometry.MAX_BOX_SIZE + 1];
+
+    // Símbolo de cada valor de célula, com espaço para vazia
+    private static final byte[] SYMBOLS = new byte[SudokuGeometry.MAX_BOX_SIZE * SudokuGeometry.MAX_BOX_SIZE + 1];
+
+    static {
+        SYMBOLS[0] = ' ';
+        for (int value = 1; value < SYMBOLS.length; value++) {
+            SYMBOLS[value] = (byte) SudokuGeometry.symbolOf(value);
+        }
+    }
+
+    private final SudokuGeometry geometry;
+    private final byte[] template; // Quadro com todas as células vazias
+    private final int[] slots; // Posição de cada célula no quadro
+
+    private BoardRenderer(SudokuGeometry geometry) {
+        this.geometry = geometry;
+        this.slots = new int[geometry.cellCount];
+
+        int size = geometry.size;
+        int boxSize = geometry.boxSize;
+        String newLine = System.lineSeparator();
+
+        // Mesmo desenho de SudokuBoard.display, com as células em branco
+        StringBuilder header = new StringBuilder("\n    ");
+        StringBuilder separator = new StringBuilder("  |");
+        for (int j = 0; j < size; j++) {
+            header.append(String.format("%-2d", j + 1));
+            if (j % boxSize == boxSize - 1) {
+                header.append(j < size - 1 ? "  " : " ");
+                separator.append("-".repeat(2 * boxSize + 1)).append(j < size - 1 ? '+' : '|');
+            }
+        }
+        String border = "  " + "-".repeat(separator.length() - 2);
+
+        StringBuilder frame = new StringBuilder();
+        frame.append(header).append(newLine);
+        frame.append(border).append(newLine);
+        for (int i = 0; i < size; i++) {
+            frame.append(String.format("%-2d| ", i + 1));
+            for (int j = 0; j < size; j++) {
+                slots[i * size + j] = frame.length();
+                frame.append("  ");
+                if (j % boxSize == boxSize - 1 && j < size - 1) {
+                    frame.append("| ");
+                }
+            }
+            frame.append('|').append(newLine);
+            if (i % boxSize == boxSize - 1 && i < size - 1) {
+                frame.append(separator).append(newLine);
+            }
+        }
+        frame.append(border).append(newLine);
+
+        this.template = frame.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Obtém o renderizador de um tamanho de tabuleiro
+     *
+     * @param geometry as tabelas do tamanho
+     * @return o renderizador compartilhado desse tamanho
+     */
+    static BoardRenderer of(SudokuGeometry geometry) {
+        synchronized (CACHE) {
+            BoardRenderer renderer = CACHE[geometry.boxSize];
+            if (renderer == null) {
+                renderer = new BoardRenderer(geometry);
+                CACHE[geometry.boxSize] = renderer;
+            }
+            return renderer;
+        }
+    }
+
+    /**
+     * Obtém o tamanho do quadro em bytes
+     *
+     * @return quantos bytes render escreve
+     */
+    public int frameSize() {
+        return template.length;
+    }
+
+    /**
+     * Desenha o tabuleiro em um array
+     *
+     * @param board  tabuleiro do tamanho deste renderizador
+     * @param dest   destino, com pelo menos frameSize() bytes a partir de offset
+     * @param offset posição inicial no destino
+     * @return a quantidade de bytes escritos
+     */
+    public int render(SudokuBoard board, byte[] dest, int offset) {
+        checkSize(board);
+        System.arraycopy(template, 0, dest, offset, template.length);
+        for (int cell = 0; cell < slots.length; cell++) {
+            dest[offset + slots[cell]] = SYMBOLS[board.getCellValue(cell)];
+        }
+        return template.length;
+    }
+
+    /**
+     * Desenha o tabuleiro em um buffer, a partir da posição atual
+     *
+     * @param board tabuleiro do tamanho deste renderizador
+     * @param dest  destino, com pelo menos frameSize() bytes restantes; a
+     *              posição avança até o fim do quadro
+     */
+    public void render(SudokuBoard board, ByteBuffer dest) {
+        checkSize(board);
+        int start = dest.position();
+        dest.put(template);
+        for (int cell = 0; cell < slots.length; cell++) {
+            dest.put(start + slots[cell], SYMBOLS[board.getCellValue(cell)]);
+        }
+    }
+
+    /**
+     * Escreve a forma compacta do tabuleiro, um caractere por célula
+     *
+     * @param board  o tabuleiro
+     * @param dest   destino, com pelo menos tamanho² bytes a partir de offset
+     * @param offset posição inicial no destino
+     * @return a quantidade de bytes escritos
+     */
+    public static int writeCompact(SudokuBoard board, byte[] dest, int offset) {
+        int cellCount = board.getGeometry().cellCount;
+        for (int cell = 0; cell < cellCount; cell++) {
+            int value = board.getCellValue(cell);
+            dest[offset + cell] = value == 0 ? (byte) '.' : SYMBOLS[value];
+        }
+        return cellCount;
+    }
+
+    /**
+     * Obtém a forma compacta do tabuleiro como texto
+     *
+     * @param board o tabuleiro
+     * @return tamanho² caracteres em ordem de linha, com '.' nas vazias
+     */
+    public static String toCompactString(SudokuBoard board) {
+        byte[] line = new byte[board.getGeometry().cellCount];
+        writeCompact(board, line, 0);
+        return new String(line, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Lê a forma compacta para o tabuleiro
+     *
+     * Qualquer caractere que não seja um símbolo válido para o tamanho (como
+     * '.' ou '0') é lido como célula vazia. Os valores passam por
+     * setCellValue; a edição das células não é alterada.
+     *
+     * @param source texto com pelo menos tamanho² caracteres a partir de offset
+     * @param offset posição inicial no texto
+     * @param board  tabuleiro a ser preenchido
+     */
+    public static void readCompact(CharSequence source, int offset, SudokuBoard board) {
+        SudokuGeometry geometry = board.getGeometry();
+        for (int cell = 0; cell < geometry.cellCount; cell++) {
+            board.setCellValue(cell, valueOf(source.charAt(offset + cell), geometry.size));
+        }
+    }
+
+    /**
+     * Converte um símbolo no valor da célula, ou 0 se não for válido
+     */
+    private static int valueOf(char symbol, int size) {
+        int value;
+        if (symbol >= '1' && symbol <= '9') {
+            value = symbol - '0';
+        } else if (symbol >= 'A' && symbol <= 'Z') {
+            value = symbol - 'A' + 10;
+        } else {
+            return 0;
+        }
+        return value <= size ? value : 0;
+    }
+
+    /**
+     * Confere se o tabuleiro tem o tamanho deste renderizador
+     */
+    private void checkSize(SudokuBoard board) {
+        if (board.getGeometry() != geometry) {
+            throw new IllegalArgumentException("Tabuleiro de tamanho " + board.getSize() + ", esperado "
+                    + geometry.size);
+        }
+    }
+}
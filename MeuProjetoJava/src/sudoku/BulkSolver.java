@@ -0,0 +1,203 @@
+package sudoku;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Resolução em lote de arquivos de puzzles, um por linha
+ *
+ * Lê o formato padrão de 81 caracteres por linha ('1'-'9' para pistas, '0' ou
+ * '.' para vazio) e grava uma linha com a solução para cada puzzle, na mesma
+ * ordem da entrada. Puzzles sem solução são copiados como estão: os 81
+ * caracteres originais da linha, com os mesmos '.' ou '0'.
+ *
+ * A entrada é mapeada em memória em janelas, o que permite arquivos de vários
+ * gigabytes, e os puzzles são lidos direto dos bytes mapeados, sem criar uma
+ * String por linha. Cada lote é resolvido em paralelo, com um solucionador por
+ * thread, e gravado de uma vez no canal de saída.
+ *
+ * Com -Dsudoku.metrics=true, as métricas de cada resolução são agregadas e um
+ * resumo (nós, retrocessos e tempo, com percentis) é impresso ao final.
+ */
+class BulkSolver {
+    private static final long WINDOW_SIZE = 1L << 28; // 256 MB mapeados por vez
+    private static final int BATCH_SIZE = 1 << 14; // Puzzles resolvidos por lote
+    private static final int RECORD_SIZE = 82; // 81 dígitos + '\n'
+
+    // Estado de resolução de cada thread do pool
+    private static final ThreadLocal<Worker> WORKERS = ThreadLocal.withInitial(Worker::new);
+
+    // Métricas agregadas, ou null se desligadas
+    private static final SolverStatsHistogram HISTOGRAM = Boolean.getBoolean("sudoku.metrics")
+            ? new SolverStatsHistogram()
+            : null;
+
+    private final LongAdder unsolved = new LongAdder();
+    private long solved;
+    private long lineNumber;
+
+    /**
+     * Ponto de entrada do modo em lote, chamado por Main
+     *
+     * @param input  caminho do arquivo de puzzles
+     * @param output caminho do arquivo de soluções (sobrescrito)
+     */
+    public static void runFromCommandLine(String input, String output) {
+        BulkSolver solver = new BulkSolver();
+        long start = System.nanoTime();
+
+        try {
+            solver.run(Paths.get(input), Paths.get(output));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Erro na resolução em lote: " + e.getMessage());
+            System.exit(1);
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long total = solver.solved;
+        System.out.printf("%d puzzles em %.2f s (%.0f puzzles/s), %d sem solução%n",
+                total, seconds, total / seconds, solver.unsolved.sum());
+        if (HISTOGRAM != null) {
+            System.out.println(HISTOGRAM.summary());
+        }
+    }
+
+    /**
+     * Resolve todos os puzzles do arquivo de entrada
+     *
+     * @param input  caminho do arquivo de puzzles
+     * @param output caminho do arquivo de soluções (sobrescrito)
+     * @return a quantidade de puzzles processados
+     * @throws IOException se a leitura ou a gravação falhar
+     */
+    public long run(Path input, Path output) throws IOException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            int[] offsets = new int[BATCH_SIZE];
+            byte[] results = new byte[BATCH_SIZE * RECORD_SIZE];
+            long size = in.size();
+            long position = 0;
+
+            while (position < size) {
+                long length = Math.min(WINDOW_SIZE, size - position);
+                boolean lastWindow = position + length == size;
+                MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+                int limit = (int) length;
+                int consumed = 0;
+                int count = 0;
+
+                while (consumed < limit) {
+                    int lineStart = consumed;
+                    int lineEnd = lineStart;
+                    while (lineEnd < limit && window.get(lineEnd) != '\n') {
+                        lineEnd++;
+                    }
+
+                    // Linha cortada pelo fim da janela: fica para a próxima
+                    if (lineEnd == limit && !lastWindow) {
+                        break;
+                    }
+
+                    consumed = Math.min(lineEnd + 1, limit);
+                    lineNumber++;
+
+                    int contentEnd = lineEnd;
+                    if (contentEnd > lineStart && window.get(contentEnd - 1) == '\r') {
+                        contentEnd--;
+                    }
+                    if (contentEnd == lineStart) {
+                        continue; // Linha em branco
+                    }
+                    if (contentEnd - lineStart < 81) {
+                        throw new IllegalArgumentException("linha " + lineNumber + " tem menos de 81 caracteres");
+                    }
+
+                    offsets[count++] = lineStart;
+                    if (count == BATCH_SIZE) {
+                        flush(window, offsets, count, results, out);
+                        count = 0;
+                    }
+                }
+
+                // O lote referencia a janela atual e precisa ser gravado antes
+                // que ela seja trocada
+                flush(window, offsets, count, results, out);
+
+                if (consumed == 0) {
+                    throw new IllegalArgumentException("linha " + (lineNumber + 1) + " maior que a janela de leitura");
+                }
+                position += consumed;
+            }
+        }
+
+        return solved;
+    }
+
+    /**
+     * Resolve um lote em paralelo e grava as soluções na ordem da entrada
+     */
+    private void flush(ByteBuffer window, int[] offsets, int count, byte[] results, FileChannel out)
+            throws IOException {
+        if (count == 0) {
+            return;
+        }
+
+        IntStream.range(0, count).parallel()
+                .forEach(i -> WORKERS.get().solve(window, offsets[i], results, i * RECORD_SIZE, unsolved));
+
+        ByteBuffer buffer = ByteBuffer.wrap(results, 0, count * RECORD_SIZE);
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        solved += count;
+    }
+
+    /**
+     * Tabuleiro e solucionador reaproveitados por uma thread
+     */
+    private static final class Worker {
+        private final SudokuBoard board = new SudokuBoard();
+        private final BitmaskSolver solver = BitmaskSolver.forBoxSize(3);
+        private final SolverStats stats = new SolverStats();
+
+        /**
+         * Lê um puzzle dos bytes mapeados, resolve e grava a linha de saída
+         * (a solução, ou a entrada original se não houver solução)
+         */
+        void solve(ByteBuffer window, int offset, byte[] results, int resultOffset, LongAdder unsolved) {
+            for (int cell = 0; cell < 81; cell++) {
+                byte c = window.get(offset + cell);
+                board.setCellValue(cell, c >= '1' && c <= '9' ? c - '0' : 0);
+            }
+
+            boolean solved;
+            if (HISTOGRAM == null) {
+                solved = solver.solve(board);
+            } else {
+                solved = solver.solve(board, stats);
+                HISTOGRAM.record(stats);
+            }
+
+            if (solved) {
+                for (int cell = 0; cell < 81; cell++) {
+                    results[resultOffset + cell] = (byte) ('0' + board.getCellValue(cell));
+                }
+            } else {
+                // A linha de entrada volta sem alterações
+                unsolved.increment();
+                window.get(offset, results, resultOffset, 81);
+            }
+            results[resultOffset + 81] = '\n';
+        }
+    }
+}
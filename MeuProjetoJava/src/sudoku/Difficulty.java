@@ -0,0 +1,65 @@
+package sudoku;
+
+/**
+ * Níveis de dificuldade de um puzzle de Sudoku
+ *
+ * Cada nível corresponde a uma faixa de pontuação do DifficultyGrader, que
+ * mede o esforço para resolver o puzzle usando técnicas humanas.
+ */
+enum Difficulty {
+    EASY(30, 45), // Apenas singles, com poucas células vazias
+    MEDIUM(46, 62), // Singles com muitas células vazias ou alguma técnica intermediária
+    HARD(63, 150), // Exige candidatos bloqueados, pares ou X-wing
+    EXPERT(151, Integer.MAX_VALUE); // Exige cadeias ou tentativas
+
+    private final int minScore;
+    private final int maxScore;
+
+    Difficulty(int minScore, int maxScore) {
+        this.minScore = minScore;
+        this.maxScore = maxScore;
+    }
+
+    /**
+     * Obtém a menor pontuação aceita neste nível
+     *
+     * @return a pontuação mínima (inclusive)
+     */
+    public int getMinScore() {
+        return minScore;
+    }
+
+    /**
+     * Obtém a maior pontuação aceita neste nível
+     *
+     * @return a pontuação máxima (inclusive)
+     */
+    public int getMaxScore() {
+        return maxScore;
+    }
+
+    /**
+     * Verifica se uma pontuação pertence a este nível
+     *
+     * @param score pontuação calculada pelo DifficultyGrader
+     * @return true se a pontuação estiver dentro da faixa
+     */
+    public boolean contains(int score) {
+        return score >= minScore && score <= maxScore;
+    }
+
+    /**
+     * Obtém o nível correspondente a uma pontuação
+     *
+     * @param score pontuação calculada pelo DifficultyGrader
+     * @return o nível cuja faixa contém a pontuação
+     */
+    public static Difficulty of(int score) {
+        for (Difficulty difficulty : values()) {
+            if (score <= difficulty.maxScore) {
+                return difficulty;
+            }
+        }
+        return EXPERT;
+    }
+}
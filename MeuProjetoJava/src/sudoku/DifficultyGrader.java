@@ -0,0 +1,520 @@
+package sudoku;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Avaliador de dificuldade baseado em técnicas humanas de resolução
+ *
+ * Resolve o puzzle aplicando sempre a técnica mais simples que faz progresso,
+ * na ordem: single oculto, single nu, candidatos bloqueados (pointing e
+ * box/line), par nu, X-wing e cadeias de um dígito (simple coloring). Cada
+ * aplicação soma o custo da técnica à pontuação. Quando nenhuma técnica
+ * funciona, o avaliador "chuta" a célula com menos candidatos usando a
+ * solução conhecida, o que custa mais que qualquer técnica.
+ *
+ * As pontuações já calculadas ficam em um cache LRU. Cada instância guarda
+ * estado e não deve ser compartilhada entre threads. As faixas de Difficulty
+ * foram calibradas para o 9x9, o único tamanho avaliado.
+ */
+class DifficultyGrader {
+    // Custo de cada aplicação de técnica
+    static final int COST_HIDDEN_SINGLE = 1;
+    static final int COST_NAKED_SINGLE = 2;
+    static final int COST_LOCKED_CANDIDATES = 5;
+    static final int COST_NAKED_PAIR = 10;
+    static final int COST_X_WING = 20;
+    static final int COST_COLORING = 30;
+    static final int COST_GUESS = 60;
+
+    private static final int ALL_DIGITS = 0x1FF;
+    private static final int CACHE_SIZE = 4096;
+
+    // Unidades (9 linhas, 9 colunas, 9 quadrantes) e vizinhos de cada célula,
+    // compartilhados com os tabuleiros 9x9
+    private static final SudokuGeometry GEOMETRY = SudokuGeometry.of(3);
+    private static final int[][] UNITS = GEOMETRY.units;
+    private static final int[][] PEERS = GEOMETRY.peers;
+    private static final int[][] UNITS_OF = GEOMETRY.unitsOf;
+
+    private final int[] values = new int[81];
+    private final int[] candidates = new int[81];
+    private final int[] color = new int[81];
+    private final int[] queue = new int[81];
+    private final int[] unitCount = new int[27];
+    private int remaining;
+
+    private final BitmaskSolver solver = BitmaskSolver.forBoxSize(3);
+
+    // Pontuações já calculadas, com descarte do menos usado recentemente
+    private final Map<String, Integer> cache = new LinkedHashMap<String, Integer>(256, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Calcula a pontuação de dificuldade de um puzzle
+     *
+     * @param board o puzzle a ser avaliado (não é alterado)
+     * @return a pontuação, ou -1 se o puzzle não tiver solução
+     * @throws IllegalArgumentException se o tabuleiro não for 9x9
+     */
+    public int grade(SudokuBoard board) {
+        return grade(board, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Calcula a pontuação de dificuldade, abandonando a avaliação assim que
+     * ela passar do limite informado
+     *
+     * @param board      o puzzle a ser avaliado (não é alterado)
+     * @param stopAbove  pontuação a partir da qual a avaliação é interrompida
+     * @return a pontuação (maior que stopAbove se a avaliação foi
+     *         interrompida), ou -1 se o puzzle não tiver solução
+     * @throws IllegalArgumentException se o tabuleiro não for 9x9
+     */
+    public int grade(SudokuBoard board, int stopAbove) {
+        if (board.getSize() != 9) {
+            throw new IllegalArgumentException("Só tabuleiros 9x9 podem ser avaliados");
+        }
+
+        String key = key(board);
+        Integer cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        int score = compute(board, stopAbove);
+
+        // Resultados interrompidos são parciais e não entram no cache
+        if (score <= stopAbove) {
+            cache.put(key, score);
+        }
+        return score;
+    }
+
+    /**
+     * Executa a resolução lógica e acumula o custo das técnicas usadas
+     */
+    private int compute(SudokuBoard board, int stopAbove) {
+        SudokuBoard solution = board.copy();
+        if (!solver.solve(solution)) {
+            return -1;
+        }
+
+        load(board);
+
+        int score = 0;
+        while (remaining > 0) {
+            if (score > stopAbove) {
+                return score;
+            }
+
+            if (hiddenSingle()) {
+                score += COST_HIDDEN_SINGLE;
+            } else if (nakedSingle()) {
+                score += COST_NAKED_SINGLE;
+            } else if (lockedCandidates()) {
+                score += COST_LOCKED_CANDIDATES;
+            } else if (nakedPair()) {
+                score += COST_NAKED_PAIR;
+            } else if (xWing()) {
+                score += COST_X_WING;
+            } else if (simpleColoring()) {
+                score += COST_COLORING;
+            } else {
+                guess(solution);
+                score += COST_GUESS;
+            }
+        }
+
+        return score;
+    }
+
+    /**
+     * Carrega o puzzle e calcula os candidatos de cada célula
+     */
+    private void load(SudokuBoard board) {
+        remaining = 81;
+        for (int cell = 0; cell < 81; cell++) {
+            values[cell] = 0;
+            candidates[cell] = ALL_DIGITS;
+        }
+
+        for (int cell = 0; cell < 81; cell++) {
+            int value = board.getCellValue(cell);
+            if (value != 0) {
+                place(cell, value);
+            }
+        }
+    }
+
+    /**
+     * Coloca um valor e o remove dos candidatos dos vizinhos
+     */
+    private void place(int cell, int value) {
+        int clear = ~(1 << (value - 1));
+        values[cell] = value;
+        candidates[cell] = 0;
+        remaining--;
+        for (int peer : PEERS[cell]) {
+            candidates[peer] &= clear;
+        }
+    }
+
+    /**
+     * Single oculto: dígito com um único lugar possível em uma unidade
+     */
+    private boolean hiddenSingle() {
+        for (int[] unit : UNITS) {
+            int once = 0;
+            int twice = 0;
+            for (int cell : unit) {
+                twice |= once & candidates[cell];
+                once |= candidates[cell];
+            }
+
+            int hidden = once & ~twice;
+            if (hidden != 0) {
+                int bit = hidden & -hidden;
+                for (int cell : unit) {
+                    if ((candidates[cell] & bit) != 0) {
+                        place(cell, Integer.numberOfTrailingZeros(bit) + 1);
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Single nu: célula com um único candidato
+     */
+    private boolean nakedSingle() {
+        for (int cell = 0; cell < 81; cell++) {
+            int mask = candidates[cell];
+            if (mask != 0 && (mask & (mask - 1)) == 0) {
+                place(cell, Integer.numberOfTrailingZeros(mask) + 1);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Candidatos bloqueados: se, em um quadrante, um dígito só aparece em uma
+     * linha (ou coluna), ele sai do resto dessa linha (pointing); se, em uma
+     * linha ou coluna, só aparece em um quadrante, sai do resto do quadrante
+     * (box/line)
+     */
+    private boolean lockedCandidates() {
+        for (int unit = 0; unit < 27; unit++) {
+            for (int bit = 1; bit <= 256; bit <<= 1) {
+                int first = -1;
+                boolean sameRow = true;
+                boolean sameCol = true;
+                boolean sameBox = true;
+
+                for (int cell : UNITS[unit]) {
+                    if ((candidates[cell] & bit) == 0) {
+                        continue;
+                    }
+                    if (first < 0) {
+                        first = cell;
+                    } else {
+                        sameRow &= UNITS_OF[cell][0] == UNITS_OF[first][0];
+                        sameCol &= UNITS_OF[cell][1] == UNITS_OF[first][1];
+                        sameBox &= UNITS_OF[cell][2] == UNITS_OF[first][2];
+                    }
+                }
+
+                if (first < 0) {
+                    continue;
+                }
+
+                boolean progress = false;
+                if (unit >= 18) {
+                    // Pointing: o dígito do quadrante está preso a uma linha ou coluna
+                    if (sameRow) {
+                        progress |= eliminateOutside(UNITS_OF[first][0], unit, bit);
+                    }
+                    if (sameCol) {
+                        progress |= eliminateOutside(UNITS_OF[first][1], unit, bit);
+                    }
+                } else if (sameBox) {
+                    // Box/line: o dígito da linha ou coluna está preso a um quadrante
+                    progress |= eliminateOutside(UNITS_OF[first][2], unit, bit);
+                }
+
+                if (progress) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Remove um candidato das células de uma unidade que não pertencem a outra
+     *
+     * @return true se algum candidato foi removido
+     */
+    private boolean eliminateOutside(int target, int keep, int bit) {
+        boolean progress = false;
+        for (int cell : UNITS[target]) {
+            if ((candidates[cell] & bit) != 0 && !contains(keep, cell)) {
+                candidates[cell] &= ~bit;
+                progress = true;
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Par nu: duas células de uma unidade com os mesmos dois candidatos
+     * eliminam esses candidatos das demais células da unidade
+     */
+    private boolean nakedPair() {
+        for (int[] unit : UNITS) {
+            for (int i = 0; i < 9; i++) {
+                int pair = candidates[unit[i]];
+                if (Integer.bitCount(pair) != 2) {
+                    continue;
+                }
+
+                for (int j = i + 1; j < 9; j++) {
+                    if (candidates[unit[j]] != pair) {
+                        continue;
+                    }
+
+                    boolean progress = false;
+                    for (int k = 0; k < 9; k++) {
+                        int cell = unit[k];
+                        if (k != i && k != j && (candidates[cell] & pair) != 0) {
+                            candidates[cell] &= ~pair;
+                            progress = true;
+                        }
+                    }
+                    if (progress) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * X-wing: se um dígito aparece em exatamente as mesmas duas colunas em
+     * duas linhas, ele sai dessas colunas nas demais linhas (e vice-versa)
+     */
+    private boolean xWing() {
+        for (int bit = 1; bit <= 256; bit <<= 1) {
+            // base 0: linhas como base e colunas como cobertura; base 9: o inverso
+            for (int base = 0; base <= 9; base += 9) {
+                int cover = 9 - base;
+                for (int a = 0; a < 9; a++) {
+                    int maskA = positions(base + a, bit);
+                    if (Integer.bitCount(maskA) != 2) {
+                        continue;
+                    }
+
+                    for (int b = a + 1; b < 9; b++) {
+                        if (positions(base + b, bit) != maskA) {
+                            continue;
+                        }
+
+                        boolean progress = false;
+                        for (int mask = maskA; mask != 0; mask &= mask - 1) {
+                            int line = cover + Integer.numberOfTrailingZeros(mask);
+                            for (int k = 0; k < 9; k++) {
+                                int cell = UNITS[line][k];
+                                if (k != a && k != b && (candidates[cell] & bit) != 0) {
+                                    candidates[cell] &= ~bit;
+                                    progress = true;
+                                }
+                            }
+                        }
+                        if (progress) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Posições (0-8) de uma linha ou coluna onde o dígito ainda é candidato
+     */
+    private int positions(int unit, int bit) {
+        int mask = 0;
+        for (int k = 0; k < 9; k++) {
+            if ((candidates[UNITS[unit][k]] & bit) != 0) {
+                mask |= 1 << k;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Cadeias de um dígito (simple coloring): os pares conjugados de um
+     * dígito (unidades onde ele só tem dois lugares) formam cadeias de cores
+     * alternadas. Se duas células da mesma cor se veem, essa cor é falsa; se
+     * uma célula fora da cadeia vê as duas cores, o dígito sai dela.
+     */
+    private boolean simpleColoring() {
+        for (int bit = 1; bit <= 256; bit <<= 1) {
+            for (int unit = 0; unit < 27; unit++) {
+                int count = 0;
+                for (int cell : UNITS[unit]) {
+                    if ((candidates[cell] & bit) != 0) {
+                        count++;
+                    }
+                }
+                unitCount[unit] = count;
+            }
+
+            for (int cell = 0; cell < 81; cell++) {
+                color[cell] = 0;
+            }
+
+            int component = 0;
+            for (int start = 0; start < 81; start++) {
+                if ((candidates[start] & bit) == 0 || color[start] != 0) {
+                    continue;
+                }
+
+                // Colore a cadeia por busca em largura: cores 2c+1 e 2c+2
+                component++;
+                int colorA = 2 * component - 1;
+                int colorB = 2 * component;
+                int head = 0;
+                int tail = 0;
+                color[start] = colorA;
+                queue[tail++] = start;
+
+                while (head < tail) {
+                    int cell = queue[head++];
+                    int next = color[cell] == colorA ? colorB : colorA;
+                    for (int unit : UNITS_OF[cell]) {
+                        if (unitCount[unit] != 2) {
+                            continue;
+                        }
+                        for (int other : UNITS[unit]) {
+                            if (other != cell && (candidates[other] & bit) != 0 && color[other] == 0) {
+                                color[other] = next;
+                                queue[tail++] = other;
+                            }
+                        }
+                    }
+                }
+
+                if (tail < 3) {
+                    continue;
+                }
+
+                if (colorWrap(colorA, colorB, bit) || colorTrap(colorA, colorB, bit)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Se duas células da mesma cor se veem, elimina o dígito de toda essa cor
+     */
+    private boolean colorWrap(int colorA, int colorB, int bit) {
+        for (int cell = 0; cell < 81; cell++) {
+            if (color[cell] != colorA && color[cell] != colorB) {
+                continue;
+            }
+            for (int peer : PEERS[cell]) {
+                if (color[peer] == color[cell]) {
+                    int wrong = color[cell];
+                    for (int other = 0; other < 81; other++) {
+                        if (color[other] == wrong) {
+                            candidates[other] &= ~bit;
+                        }
+                    }
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Elimina o dígito das células fora da cadeia que veem as duas cores
+     */
+    private boolean colorTrap(int colorA, int colorB, int bit) {
+        boolean progress = false;
+        for (int cell = 0; cell < 81; cell++) {
+            if ((candidates[cell] & bit) == 0 || color[cell] == colorA || color[cell] == colorB) {
+                continue;
+            }
+
+            boolean seesA = false;
+            boolean seesB = false;
+            for (int peer : PEERS[cell]) {
+                seesA |= color[peer] == colorA;
+                seesB |= color[peer] == colorB;
+            }
+
+            if (seesA && seesB) {
+                candidates[cell] &= ~bit;
+                progress = true;
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * Quando nenhuma técnica avança, preenche a célula com menos candidatos
+     * usando a solução conhecida
+     */
+    private void guess(SudokuBoard solution) {
+        int best = -1;
+        int bestCount = 10;
+        for (int cell = 0; cell < 81; cell++) {
+            if (values[cell] == 0) {
+                int count = Integer.bitCount(candidates[cell]);
+                if (count < bestCount) {
+                    bestCount = count;
+                    best = cell;
+                }
+            }
+        }
+        place(best, solution.getCellValue(best));
+    }
+
+    /**
+     * Verifica se uma célula pertence a uma unidade
+     */
+    private static boolean contains(int unit, int cell) {
+        for (int member : UNITS[unit]) {
+            if (member == cell) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Chave do cache: os 81 valores do puzzle em ordem de linha
+     */
+    private static String key(SudokuBoard board) {
+        char[] chars = new char[81];
+        for (int cell = 0; cell < 81; cell++) {
+            chars[cell] = (char) ('0' + board.getCellValue(cell));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,367 @@
+package sudoku;
+
+/**
+ * Motor de resolução baseado em Dancing Links (Algoritmo X de Knuth)
+ *
+ * O Sudoku é modelado como um problema de cobertura exata com 4 * n² colunas
+ * (célula preenchida, dígito na linha, dígito na coluna e dígito no quadrante)
+ * e n³ linhas (um candidato para cada par célula/dígito), em que n é o lado do
+ * tabuleiro: 324 colunas e 729 linhas no 9x9.
+ *
+ * A matriz é montada uma única vez no construtor. Em cada chamada as pistas
+ * do tabuleiro são cobertas e, ao final, descobertas na ordem inversa, o que
+ * devolve a estrutura exatamente ao estado inicial sem realocar nenhum nó.
+ * Cada instância guarda estado e não deve ser compartilhada entre threads.
+ */
+class DlxSolver {
+    private static final int ROOT = 0;
+
+    private final int boxSize; // Lado do quadrante
+    private final int digits; // Lado do tabuleiro e quantidade de dígitos
+    private final int cellCount; // Quantidade de células
+
+    // Ligações dos nós: cabeçalhos de coluna ocupam os índices 1 a 4 * cellCount
+    private final int[] left;
+    private final int[] right;
+    private final int[] up;
+    private final int[] down;
+    private final int[] column; // Cabeçalho da coluna de cada nó
+    private final int[] rowId; // Linha (candidato) de cada nó
+    private final int[] size; // Quantidade de nós ativos em cada coluna
+    private final int[] rowStart; // Primeiro nó de cada linha
+
+    private final int[] givenRows; // Pistas cobertas na chamada atual
+    private final int[] chosen; // Linhas escolhidas na busca atual
+    private final int[] solution; // Primeira solução encontrada
+    private int solutionCount;
+    private int limit;
+    private SolverMetrics metrics; // null quando as métricas estão desligadas
+
+    /**
+     * Construtor da classe DlxSolver
+     * Monta a matriz de cobertura exata completa do Sudoku 9x9
+     */
+    public DlxSolver() {
+        this(3);
+    }
+
+    /**
+     * Monta a matriz de cobertura exata para quadrantes de boxSize x boxSize
+     *
+     * @param boxSize lado do quadrante (2 a 5)
+     * @throws IllegalArgumentException se o tamanho não for suportado
+     */
+    public DlxSolver(int boxSize) {
+        SudokuGeometry geometry = SudokuGeometry.of(boxSize);
+        this.boxSize = boxSize;
+        this.digits = geometry.size;
+        this.cellCount = geometry.cellCount;
+
+        int columns = 4 * cellCount;
+        int rows = cellCount * digits;
+        int nodes = 1 + columns + rows * 4;
+        left = new int[nodes];
+        right = new int[nodes];
+        up = new int[nodes];
+        down = new int[nodes];
+        column = new int[nodes];
+        rowId = new int[nodes];
+        size = new int[columns + 1];
+        rowStart = new int[rows];
+        givenRows = new int[cellCount];
+        chosen = new int[cellCount];
+        solution = new int[cellCount];
+
+        // Lista circular de cabeçalhos a partir da raiz
+        for (int i = 0; i <= columns; i++) {
+            left[i] = i == 0 ? columns : i - 1;
+            right[i] = i == columns ? 0 : i + 1;
+            up[i] = i;
+            down[i] = i;
+            column[i] = i;
+        }
+
+        int[] headers = new int[4];
+        int next = columns + 1;
+        for (int row = 0; row < rows; row++) {
+            int cell = row / digits;
+            int digit = row % digits;
+
+            headers[0] = 1 + cell;
+            headers[1] = 1 + cellCount + geometry.rowOf[cell] * digits + digit;
+            headers[2] = 1 + 2 * cellCount + geometry.colOf[cell] * digits + digit;
+            headers[3] = 1 + 3 * cellCount + geometry.boxOf[cell] * digits + digit;
+
+            rowStart[row] = next;
+            for (int k = 0; k < 4; k++) {
+                int node = next + k;
+                int header = headers[k];
+
+                // Insere o nó no final da coluna
+                column[node] = header;
+                rowId[node] = row;
+                up[node] = up[header];
+                down[node] = header;
+                down[up[header]] = node;
+                up[header] = node;
+                size[header]++;
+
+                // Liga o nó aos demais nós da mesma linha
+                left[node] = next + (k + 3) % 4;
+                right[node] = next + (k + 1) % 4;
+            }
+            next += 4;
+        }
+    }
+
+    /**
+     * Obtém o lado do quadrante dos tabuleiros resolvidos por este motor
+     *
+     * @return 3 para o tabuleiro 9x9
+     */
+    public int getBoxSize() {
+        return boxSize;
+    }
+
+    /**
+     * Resolve o tabuleiro, preenchendo as células vazias com a primeira solução
+     * encontrada. Se não houver solução, o tabuleiro não é alterado.
+     *
+     * @param board o tabuleiro a ser resolvido
+     * @return true se encontrou uma solução, false caso contrário
+     */
+    public boolean solve(SudokuBoard board) {
+        return solve(board, SolverMetrics.NONE);
+    }
+
+    /**
+     * Resolve o tabuleiro registrando as métricas da busca
+     *
+     * @param board   o tabuleiro a ser resolvido
+     * @param metrics coletor das métricas
+     * @return true se encontrou uma solução, false caso contrário
+     */
+    public boolean solve(SudokuBoard board, SolverMetrics metrics) {
+        if (run(board, 1, metrics) == 0) {
+            return false;
+        }
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (board.getCellValue(cell) == 0) {
+                board.setCellValue(cell, solution[cell]);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Conta as soluções do tabuleiro, parando ao atingir o limite informado
+     *
+     * @param board o tabuleiro a ser verificado (não é alterado)
+     * @param limit número máximo de soluções a contar
+     * @return o número de soluções encontradas (no máximo limit)
+     */
+    public int countSolutions(SudokuBoard board, int limit) {
+        return run(board, limit, SolverMetrics.NONE);
+    }
+
+    /**
+     * Conta as soluções do tabuleiro registrando as métricas da busca
+     *
+     * @param board   o tabuleiro a ser verificado (não é alterado)
+     * @param limit   número máximo de soluções a contar
+     * @param metrics coletor das métricas
+     * @return o número de soluções encontradas (no máximo limit)
+     */
+    public int countSolutions(SudokuBoard board, int limit, SolverMetrics metrics) {
+        return run(board, limit, metrics);
+    }
+
+    /**
+     * Cobre as pistas do tabuleiro, executa a busca e restaura a matriz
+     *
+     * @param board   o tabuleiro de origem
+     * @param limit   número máximo de soluções a contar
+     * @param metrics coletor das métricas
+     * @return o número de soluções encontradas
+     */
+    private int run(SudokuBoard board, int limit, SolverMetrics metrics) {
+        if (board.getBoxSize() != boxSize) {
+            throw new IllegalArgumentException("Tabuleiro " + board.getSize() + "x" + board.getSize()
+                    + " em um motor " + digits + "x" + digits);
+        }
+
+        metrics.started();
+        this.metrics = metrics == SolverMetrics.NONE ? null : metrics;
+        this.limit = limit;
+        solutionCount = 0;
+
+        int givens = 0;
+        boolean conflict = false;
+
+        for (int cell = 0; cell < cellCount && !conflict; cell++) {
+            int value = board.getCellValue(cell);
+            if (value == 0) {
+                continue;
+            }
+
+            int row = cell * digits + value - 1;
+            int start = rowStart[row];
+
+            // Se alguma coluna da linha já foi coberta, as pistas se contradizem
+            int node = start;
+            do {
+                int header = column[node];
+                if (right[left[header]] != header) {
+                    conflict = true;
+                    break;
+                }
+                node = right[node];
+            } while (node != start);
+
+            if (!conflict) {
+                selectRow(start);
+                givenRows[givens++] = start;
+                solution[cell] = value;
+            }
+        }
+
+        if (!conflict) {
+            search(0);
+        }
+
+        // Restaura a matriz na ordem inversa em que as pistas foram cobertas
+        while (givens > 0) {
+            deselectRow(givenRows[--givens]);
+        }
+
+        this.metrics = null;
+        metrics.finished();
+        return conflict ? 0 : solutionCount;
+    }
+
+    /**
+     * Busca recursiva do Algoritmo X, escolhendo sempre a coluna com menos nós
+     *
+     * @param depth quantidade de linhas já escolhidas nesta busca
+     */
+    private void search(int depth) {
+        if (metrics != null) {
+            metrics.nodeVisited(depth);
+        }
+
+        if (right[ROOT] == ROOT) {
+            solutionCount++;
+            if (solutionCount == 1) {
+                for (int i = 0; i < depth; i++) {
+                    int row = rowId[chosen[i]];
+                    solution[row / digits] = row % digits + 1;
+                }
+            }
+            return;
+        }
+
+        // Heurística S: coluna com o menor número de candidatos
+        int best = right[ROOT];
+        for (int header = right[best]; header != ROOT; header = right[header]) {
+            if (size[header] < size[best]) {
+                best = header;
+            }
+        }
+
+        if (size[best] == 0) {
+            if (metrics != null) {
+                metrics.backtracked();
+            }
+            return;
+        }
+
+        cover(best);
+        for (int node = down[best]; node != best; node = down[node]) {
+            chosen[depth] = node;
+            if (metrics != null) {
+                metrics.candidateTried();
+            }
+
+            for (int j = right[node]; j != node; j = right[j]) {
+                cover(column[j]);
+            }
+
+            search(depth + 1);
+
+            for (int j = left[node]; j != node; j = left[j]) {
+                uncover(column[j]);
+            }
+
+            if (solutionCount >= limit) {
+                break;
+            }
+        }
+        uncover(best);
+    }
+
+    /**
+     * Escolhe uma linha fixa (pista), cobrindo todas as suas colunas
+     *
+     * @param start primeiro nó da linha
+     */
+    private void selectRow(int start) {
+        int node = start;
+        do {
+            cover(column[node]);
+            node = right[node];
+        } while (node != start);
+    }
+
+    /**
+     * Desfaz selectRow, descobrindo as colunas na ordem inversa
+     *
+     * @param start primeiro nó da linha
+     */
+    private void deselectRow(int start) {
+        int node = left[start];
+        while (true) {
+            uncover(column[node]);
+            if (node == start) {
+                break;
+            }
+            node = left[node];
+        }
+    }
+
+    /**
+     * Remove uma coluna e todas as linhas que a satisfazem
+     *
+     * @param header cabeçalho da coluna
+     */
+    private void cover(int header) {
+        right[left[header]] = right[header];
+        left[right[header]] = left[header];
+
+        for (int i = down[header]; i != header; i = down[i]) {
+            for (int j = right[i]; j != i; j = right[j]) {
+                down[up[j]] = down[j];
+                up[down[j]] = up[j];
+                size[column[j]]--;
+            }
+        }
+    }
+
+    /**
+     * Reinsere uma coluna removida por cover, na ordem inversa
+     *
+     * @param header cabeçalho da coluna
+     */
+    private void uncover(int header) {
+        for (int i = up[header]; i != header; i = up[i]) {
+            for (int j = left[i]; j != i; j = left[j]) {
+                size[column[j]]++;
+                down[up[j]] = j;
+                up[down[j]] = j;
+            }
+        }
+
+        right[left[header]] = header;
+        left[right[header]] = header;
+    }
+}
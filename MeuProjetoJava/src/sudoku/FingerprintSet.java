@@ -0,0 +1,158 @@
+package sudoku;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Conjunto de impressões digitais de 128 bits guardado fora do heap
+ *
+ * Tabela de endereçamento aberto com sondagem linear em buffers diretos, 16
+ * bytes por posição, sem nenhum objeto por elemento: o coletor de lixo não
+ * percorre o conteúdo, e centenas de milhões de impressões cabem em poucos GB
+ * de memória nativa. A tabela é dividida em segmentos de até 1 GB e dobra de
+ * tamanho quando passa de metade da ocupação.
+ *
+ * Inserção e consulta custam O(1) em média. Os métodos são sincronizados, então
+ * uma instância pode ser compartilhada entre as threads de geração em lote.
+ */
+class FingerprintSet {
+    private static final int SLOT_BYTES = 16;
+    private static final int SEGMENT_BITS = 26; // 2^26 posições de 16 bytes = 1 GB
+    private static final int MIN_CAPACITY = 1024;
+
+    private ByteBuffer[] segments;
+    private long capacity; // Sempre potência de 2
+    private long size;
+
+    /**
+     * Construtor da classe FingerprintSet
+     *
+     * @param expected quantidade esperada de elementos; a tabela é criada com
+     *                 espaço para ela sem precisar crescer
+     */
+    public FingerprintSet(long expected) {
+        if (expected < 0) {
+            throw new IllegalArgumentException("expected não pode ser negativo: " + expected);
+        }
+
+        long target = Math.max(MIN_CAPACITY, expected * 2);
+        allocate(Long.highestOneBit(target - 1) << 1);
+    }
+
+    /**
+     * Acrescenta uma impressão digital
+     *
+     * @param high bits altos
+     * @param low  bits baixos
+     * @return true se a impressão era nova, false se já estava no conjunto
+     */
+    public synchronized boolean add(long high, long low) {
+        if (high == 0 && low == 0) {
+            low = 1; // Zero marca posição livre
+        }
+
+        long slot = find(high, low);
+        if (slot < 0) {
+            return false;
+        }
+
+        put(slot, high, low);
+        if (++size > capacity / 2) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * Verifica se uma impressão digital está no conjunto
+     *
+     * @param high bits altos
+     * @param low  bits baixos
+     * @return true se a impressão já foi acrescentada
+     */
+    public synchronized boolean contains(long high, long low) {
+        if (high == 0 && low == 0) {
+            low = 1;
+        }
+        return find(high, low) < 0;
+    }
+
+    /**
+     * Obtém a quantidade de impressões digitais do conjunto
+     *
+     * @return elementos distintos acrescentados
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Procura a impressão digital pela sondagem linear
+     *
+     * @return a posição livre onde ela entraria, ou -1 se já estiver presente
+     */
+    private long find(long high, long low) {
+        long mask = capacity - 1;
+        // As impressões já são hashes, então os bits baixos servem de índice
+        long slot = (low ^ high) & mask;
+
+        while (true) {
+            ByteBuffer segment = segments[(int) (slot >>> SEGMENT_BITS)];
+            int offset = (int) (slot & ((1L << SEGMENT_BITS) - 1)) * SLOT_BYTES;
+            long storedHigh = segment.getLong(offset);
+            long storedLow = segment.getLong(offset + 8);
+
+            if (storedHigh == 0 && storedLow == 0) {
+                return slot;
+            }
+            if (storedHigh == high && storedLow == low) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Grava a impressão digital em uma posição
+     */
+    private void put(long slot, long high, long low) {
+        ByteBuffer segment = segments[(int) (slot >>> SEGMENT_BITS)];
+        int offset = (int) (slot & ((1L << SEGMENT_BITS) - 1)) * SLOT_BYTES;
+        segment.putLong(offset, high);
+        segment.putLong(offset + 8, low);
+    }
+
+    /**
+     * Dobra a capacidade e reinsere todas as impressões
+     */
+    private void grow() {
+        ByteBuffer[] old = segments;
+        long oldCapacity = capacity;
+        allocate(capacity * 2);
+
+        for (long slot = 0; slot < oldCapacity; slot++) {
+            ByteBuffer segment = old[(int) (slot >>> SEGMENT_BITS)];
+            int offset = (int) (slot & ((1L << SEGMENT_BITS) - 1)) * SLOT_BYTES;
+            long high = segment.getLong(offset);
+            long low = segment.getLong(offset + 8);
+            if (high != 0 || low != 0) {
+                put(find(high, low), high, low);
+            }
+        }
+    }
+
+    /**
+     * Cria os segmentos zerados para a capacidade dada
+     */
+    private void allocate(long newCapacity) {
+        long perSegment = 1L << SEGMENT_BITS;
+        int count = (int) ((newCapacity + perSegment - 1) / perSegment);
+
+        segments = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long slots = Math.min(perSegment, newCapacity - i * perSegment);
+            segments[i] = ByteBuffer.allocateDirect((int) (slots * SLOT_BYTES)).order(ByteOrder.nativeOrder());
+        }
+        capacity = newCapacity;
+    }
+}
@@ -0,0 +1,160 @@
+package sudoku;
+
+import java.util.Arrays;
+
+/**
+ * Lote de tabuleiros do mesmo tamanho em estrutura de arrays
+ *
+ * Em vez de um objeto por tabuleiro, os valores ficam agrupados por célula: os
+ * valores da célula 0 de todos os tabuleiros, depois os da célula 1, e assim
+ * por diante. Cada long guarda os valores de 8 tabuleiros consecutivos, um
+ * por byte (o tabuleiro g no byte g % 8), de modo que uma leitura traz a mesma
+ * célula de 8 tabuleiros e um bloco de 8 longs cobre 64 tabuleiros, a unidade
+ * de trabalho de BatchValidator.
+ *
+ * A capacidade é arredondada para um múltiplo de 64; as posições além de
+ * size() ficam zeradas.
+ */
+class GridBatch {
+    static final int BLOCK = 64; // Tabuleiros por bloco de 8 longs
+
+    private final SudokuGeometry geometry;
+    private final int capacity;
+    private final int wordsPerCell; // Longs por célula: capacity / 8
+    private final long[] words; // [célula * wordsPerCell + tabuleiro / 8]
+    private int size;
+
+    /**
+     * Construtor da classe GridBatch
+     *
+     * @param boxSize  lado de um quadrante (3 para o 9x9)
+     * @param capacity quantidade de tabuleiros, arredondada para cima até um
+     *                 múltiplo de 64
+     */
+    public GridBatch(int boxSize, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity deve ser maior que zero: " + capacity);
+        }
+
+        this.geometry = SudokuGeometry.of(boxSize);
+        this.capacity = (capacity + BLOCK - 1) / BLOCK * BLOCK;
+        this.wordsPerCell = this.capacity / 8;
+        this.words = new long[geometry.cellCount * wordsPerCell];
+    }
+
+    /**
+     * Acrescenta um tabuleiro ao fim do lote
+     *
+     * @param board tabuleiro do tamanho do lote
+     * @return a posição do tabuleiro no lote
+     * @throws IllegalStateException se o lote estiver cheio
+     */
+    public int add(SudokuBoard board) {
+        if (board.getGeometry() != geometry) {
+            throw new IllegalArgumentException("Tabuleiro de tamanho " + board.getSize() + ", esperado "
+                    + geometry.size);
+        }
+        if (size == capacity) {
+            throw new IllegalStateException("Lote cheio: " + capacity + " tabuleiros");
+        }
+
+        int grid = size++;
+        int word = grid >>> 3;
+        int shift = (grid & 7) * 8;
+        long clear = ~(0xFFL << shift);
+        for (int cell = 0; cell < geometry.cellCount; cell++) {
+            int index = cell * wordsPerCell + word;
+            words[index] = words[index] & clear | (long) board.getCellValue(cell) << shift;
+        }
+        return grid;
+    }
+
+    /**
+     * Define o valor de uma célula de um tabuleiro do lote
+     * Valores fora de 1 a tamanho são guardados e tornam o tabuleiro inválido
+     *
+     * @param grid  posição do tabuleiro (menor que size())
+     * @param cell  índice da célula em ordem de linha
+     * @param value valor de 0 a 255
+     */
+    public void set(int grid, int cell, int value) {
+        checkGrid(grid);
+        if (value < 0 || value > 0xFF) {
+            throw new IllegalArgumentException("Valor fora de 0 a 255: " + value);
+        }
+
+        int index = cell * wordsPerCell + (grid >>> 3);
+        int shift = (grid & 7) * 8;
+        words[index] = words[index] & ~(0xFFL << shift) | (long) value << shift;
+    }
+
+    /**
+     * Obtém o valor de uma célula de um tabuleiro do lote
+     *
+     * @param grid posição do tabuleiro (menor que size())
+     * @param cell índice da célula em ordem de linha
+     * @return o valor guardado
+     */
+    public int get(int grid, int cell) {
+        checkGrid(grid);
+        return (int) (words[cell * wordsPerCell + (grid >>> 3)] >>> ((grid & 7) * 8)) & 0xFF;
+    }
+
+    /**
+     * Esvazia o lote, mantendo a capacidade
+     */
+    public void clear() {
+        Arrays.fill(words, 0L);
+        size = 0;
+    }
+
+    /**
+     * Obtém a quantidade de tabuleiros no lote
+     *
+     * @return tabuleiros acrescentados desde a criação ou o último clear()
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Obtém a capacidade do lote
+     *
+     * @return quantidade máxima de tabuleiros (múltiplo de 64)
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Obtém a geometria dos tabuleiros do lote
+     *
+     * @return as tabelas do tamanho
+     */
+    SudokuGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Obtém os longs do lote, para leitura por BatchValidator
+     */
+    long[] words() {
+        return words;
+    }
+
+    /**
+     * Obtém a quantidade de longs de cada célula
+     */
+    int wordsPerCell() {
+        return wordsPerCell;
+    }
+
+    /**
+     * Confere se a posição corresponde a um tabuleiro do lote
+     */
+    private void checkGrid(int grid) {
+        if (grid < 0 || grid >= size) {
+            throw new IndexOutOfBoundsException("Tabuleiro " + grid + " fora do lote de " + size);
+        }
+    }
+}
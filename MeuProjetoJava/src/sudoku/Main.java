@@ -0,0 +1,42 @@
+package sudoku;
+
+/**
+ * Ponto de entrada para o jogo de Sudoku
+ * 
+ * Esta classe inicia o jogo e gerencia o loop principal de interação com o
+ * usuário.
+ */
+public class Main {
+    public static void main(String[] args) {
+        // Modo em lote: java -cp target/classes sudoku.Main --solve puzzles.txt solucoes.txt
+        if (args.length == 3 && args[0].equals("--solve")) {
+            BulkSolver.runFromCommandLine(args[1], args[2]);
+            return;
+        }
+
+        // Conversão para binário: java -cp target/classes sudoku.Main --pack puzzles.txt puzzles.sdkb
+        if (args.length == 3 && args[0].equals("--pack")) {
+            PuzzleArchiveWriter.runFromCommandLine(args[1], args[2]);
+            return;
+        }
+
+        // Servidor de partidas: java -cp target/classes sudoku.Main --serve [porta]
+        if ((args.length == 1 || args.length == 2) && args[0].equals("--serve")) {
+            SudokuServer.runFromCommandLine(args.length == 2 ? args[1] : null);
+            return;
+        }
+
+        // O estoque começa a gerar puzzles em segundo plano imediatamente
+        try (PuzzlePool pool = new PuzzlePool()) {
+            System.out.println("=== JOGO DE SUDOKU ===");
+            System.out.println("Bem-vindo ao jogo de Sudoku! Um puzzle de dificuldade média foi gerado para você.");
+            System.out.println("Para jogar, insira a linha (1-9), coluna (1-9) e o valor (1-9) quando solicitado.");
+            System.out.println("No lugar da linha, digite desfazer, refazer ou dica.");
+            System.out.println("Divirta-se!\n");
+
+            // Cria e inicia um novo jogo de Sudoku
+            SudokuGame game = new SudokuGame(pool);
+            game.play();
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package sudoku;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Histórico de jogadas de uma partida, com desfazer e refazer em O(1)
+ *
+ * As jogadas ficam em um array de ints (célula, valor anterior e valor novo)
+ * com um cursor: desfazer recua o cursor, refazer avança, e uma jogada nova
+ * descarta as que estavam à frente dele.
+ *
+ * Opcionalmente, cada evento (jogada, desfazer, refazer) é gravado em um
+ * arquivo antes de ser aplicado ao tabuleiro (write-ahead). O arquivo começa
+ * com o puzzle original e só recebe acréscimos de 4 bytes, então uma partida
+ * interrompida pode ser reconstruída exatamente com SudokuSession.recover. As
+ * gravações vão para o sistema operacional a cada evento, o que sobrevive a
+ * uma queda do processo; o conteúdo só é forçado para o disco em close().
+ *
+ * Formato do arquivo (big-endian): int MAGIC, int lado do quadrante, um byte
+ * por célula do puzzle original (0 = vazia) e depois os eventos, cada um um
+ * int com o tipo nos 4 bits altos, a célula nos 20 seguintes e o valor nos 8
+ * baixos.
+ */
+class MoveJournal implements AutoCloseable {
+    static final int MAGIC = 0x53444B4A; // "SDKJ"
+
+    private static final int MOVE = 1;
+    private static final int UNDO = 2;
+    private static final int REDO = 3;
+
+    private int[] moves = new int[16]; // célula << 16 | anterior << 8 | novo
+    private int size; // Jogadas guardadas, incluindo as desfeitas
+    private int cursor; // Jogadas aplicadas
+
+    private final FileChannel channel; // null sem arquivo
+    private final ByteBuffer record = ByteBuffer.allocate(4);
+    private boolean replaying; // Eventos lidos do arquivo não são regravados
+
+    /**
+     * Construtor da classe MoveJournal
+     * Cria um histórico apenas em memória
+     */
+    public MoveJournal() {
+        this.channel = null;
+    }
+
+    private MoveJournal(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Cria o arquivo de uma partida nova (sobrescrevendo se existir) e grava
+     * o puzzle original
+     *
+     * @param file   caminho do arquivo
+     * @param puzzle o puzzle antes de qualquer jogada
+     * @return o histórico que grava no arquivo
+     * @throws IOException se o arquivo não puder ser criado
+     */
+    static MoveJournal create(Path file, SudokuBoard puzzle) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            int cellCount = puzzle.getSize() * puzzle.getSize();
+            ByteBuffer header = ByteBuffer.allocate(8 + cellCount);
+            header.putInt(MAGIC).putInt(puzzle.getBoxSize());
+            for (int cell = 0; cell < cellCount; cell++) {
+                header.put((byte) puzzle.getCellValue(cell));
+            }
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return new MoveJournal(channel);
+    }
+
+    /**
+     * Reabre o arquivo de uma partida, reconstrói o puzzle original e repete
+     * os eventos gravados na sessão
+     *
+     * Um evento incompleto no fim do arquivo (gravação interrompida) é
+     * descartado; os próximos eventos continuam sendo acrescentados.
+     *
+     * @param file caminho do arquivo
+     * @return a sessão no estado do último evento gravado
+     * @throws IOException se o arquivo não existir ou não for um histórico
+     */
+    static SudokuSession replay(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(8);
+            readFully(channel, header);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Não é um histórico de partida: " + file);
+            }
+            int boxSize = header.getInt();
+            if (boxSize < SudokuGeometry.MIN_BOX_SIZE || boxSize > SudokuGeometry.MAX_BOX_SIZE) {
+                throw new IOException("Tamanho de quadrante inválido no histórico: " + boxSize);
+            }
+
+            SudokuBoard puzzle = new SudokuBoard(boxSize);
+            ByteBuffer cells = ByteBuffer.allocate(puzzle.getSize() * puzzle.getSize());
+            readFully(channel, cells);
+            puzzle.loadPuzzle(cells.array());
+
+            MoveJournal journal = new MoveJournal(channel);
+            SudokuSession session = new SudokuSession(puzzle, journal);
+
+            // Repete os eventos inteiros e descarta um possível resto
+            long events = (channel.size() - channel.position()) / 4;
+            ByteBuffer body = ByteBuffer.allocate((int) (events * 4));
+            readFully(channel, body);
+            journal.replaying = true;
+            while (body.hasRemaining()) {
+                int event = body.getInt();
+                int type = event >>> 28;
+                int size = puzzle.getSize();
+                int cell = (event >>> 8) & 0xFFFFF;
+                boolean applied;
+                if (type == MOVE) {
+                    applied = session.play(cell / size, cell % size, event & 0xFF).isApplied();
+                } else if (type == UNDO) {
+                    applied = session.undo();
+                } else if (type == REDO) {
+                    applied = session.redo();
+                } else {
+                    throw new IOException("Evento desconhecido no histórico: " + Integer.toHexString(event));
+                }
+
+                // Todo evento gravado foi aplicado quando aconteceu
+                if (!applied) {
+                    throw new IOException("Evento inconsistente com o histórico: " + Integer.toHexString(event));
+                }
+            }
+            journal.replaying = false;
+
+            long end = channel.position();
+            channel.truncate(end);
+            channel.position(end);
+            return session;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Registra uma jogada, descartando as jogadas desfeitas à frente
+     *
+     * @param cell     índice da célula
+     * @param oldValue valor antes da jogada
+     * @param newValue valor depois da jogada
+     * @throws UncheckedIOException se a gravação no arquivo falhar
+     */
+    public void record(int cell, int oldValue, int newValue) {
+        write(MOVE << 28 | cell << 8 | newValue);
+        if (cursor == moves.length) {
+            int[] grown = new int[moves.length * 2];
+            System.arraycopy(moves, 0, grown, 0, moves.length);
+            moves = grown;
+        }
+        moves[cursor++] = cell << 16 | oldValue << 8 | newValue;
+        size = cursor;
+    }
+
+    /**
+     * Verifica se há jogada para desfazer
+     *
+     * @return true se alguma jogada estiver aplicada
+     */
+    public boolean canUndo() {
+        return cursor > 0;
+    }
+
+    /**
+     * Verifica se há jogada para refazer
+     *
+     * @return true se alguma jogada desfeita puder ser reaplicada
+     */
+    public boolean canRedo() {
+        return cursor < size;
+    }
+
+    /**
+     * Recua o cursor sobre a última jogada aplicada
+     *
+     * @return a jogada a ser revertida (use cellOf e oldValueOf)
+     * @throws IllegalStateException se não houver jogada para desfazer
+     * @throws UncheckedIOException  se a gravação no arquivo falhar
+     */
+    public int undo() {
+        if (!canUndo()) {
+            throw new IllegalStateException("Nada para desfazer");
+        }
+        write(UNDO << 28);
+        return moves[--cursor];
+    }
+
+    /**
+     * Avança o cursor sobre a próxima jogada desfeita
+     *
+     * @return a jogada a ser reaplicada (use cellOf e newValueOf)
+     * @throws IllegalStateException se não houver jogada para refazer
+     * @throws UncheckedIOException  se a gravação no arquivo falhar
+     */
+    public int redo() {
+        if (!canRedo()) {
+            throw new IllegalStateException("Nada para refazer");
+        }
+        write(REDO << 28);
+        return moves[cursor++];
+    }
+
+    /**
+     * Obtém a quantidade de jogadas aplicadas
+     *
+     * @return a posição do cursor
+     */
+    public int size() {
+        return cursor;
+    }
+
+    /**
+     * Extrai a célula de uma jogada
+     *
+     * @param move jogada devolvida por undo ou redo
+     * @return o índice da célula
+     */
+    static int cellOf(int move) {
+        return move >>> 16;
+    }
+
+    /**
+     * Extrai o valor anterior de uma jogada
+     *
+     * @param move jogada devolvida por undo ou redo
+     * @return o valor da célula antes da jogada
+     */
+    static int oldValueOf(int move) {
+        return (move >>> 8) & 0xFF;
+    }
+
+    /**
+     * Extrai o valor novo de uma jogada
+     *
+     * @param move jogada devolvida por undo ou redo
+     * @return o valor da célula depois da jogada
+     */
+    static int newValueOf(int move) {
+        return move & 0xFF;
+    }
+
+    /**
+     * Força o arquivo para o disco e o fecha
+     *
+     * @throws IOException se a gravação ou o fechamento falhar
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            try {
+                channel.force(false);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Acrescenta um evento ao arquivo, se houver
+     */
+    private void write(int event) {
+        if (channel == null || replaying) {
+            return;
+        }
+
+        record.clear();
+        record.putInt(event).flip();
+        try {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar o histórico da partida", e);
+        }
+    }
+
+    /**
+     * Lê do canal até encher o buffer e o prepara para leitura
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Histórico de partida truncado");
+            }
+        }
+        buffer.flip();
+    }
+}
@@ -0,0 +1,144 @@
+package sudoku;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Contagem de soluções com divisão da árvore de busca entre várias threads
+ *
+ * Nas primeiras ramificações (até splitDepth níveis), cada candidato da célula
+ * com menos opções vira uma tarefa do ForkJoinPool. Abaixo disso, cada tarefa
+ * faz a busca sequencial com o BitmaskSolver da sua thread. Todas as tarefas
+ * somam suas soluções em um contador atômico e param assim que ele atinge o
+ * limite, o que cancela as subárvores irmãs.
+ *
+ * Indicado para grades esparsas (menos de 22 pistas), em que a busca
+ * sequencial pode ser longa. Instâncias podem ser usadas por várias threads.
+ */
+class ParallelSolutionCounter {
+    // Motores de cada thread do pool, um por tamanho de quadrante, reaproveitados
+    // entre as tarefas
+    private static final ThreadLocal<BitmaskSolver[]> SOLVERS = ThreadLocal
+            .withInitial(() -> new BitmaskSolver[SudokuGeometry.MAX_BOX_SIZE + 1]);
+
+    private final ForkJoinPool pool;
+    private final int splitDepth;
+
+    /**
+     * Construtor da classe ParallelSolutionCounter
+     * Usa o pool comum e divide a árvore nos três primeiros níveis
+     */
+    public ParallelSolutionCounter() {
+        this(ForkJoinPool.commonPool(), 3);
+    }
+
+    /**
+     * Construtor da classe ParallelSolutionCounter
+     *
+     * @param pool       pool onde as subárvores são executadas
+     * @param splitDepth quantidade de níveis da árvore divididos em tarefas
+     */
+    public ParallelSolutionCounter(ForkJoinPool pool, int splitDepth) {
+        if (splitDepth < 0) {
+            throw new IllegalArgumentException("splitDepth não pode ser negativo: " + splitDepth);
+        }
+        this.pool = pool;
+        this.splitDepth = splitDepth;
+    }
+
+    /**
+     * Conta as soluções do tabuleiro, parando ao atingir o limite informado
+     *
+     * @param board o tabuleiro a ser verificado (não é alterado)
+     * @param limit número máximo de soluções a contar
+     * @return o número de soluções encontradas (no máximo limit)
+     */
+    public int countSolutions(SudokuBoard board, int limit) {
+        AtomicInteger count = new AtomicInteger();
+        pool.invoke(new SplitTask(board.copy(), 0, limit, count));
+        return Math.min(count.get(), limit);
+    }
+
+    /**
+     * Obtém o motor da thread atual para o tamanho de quadrante informado
+     *
+     * @param boxSize lado do quadrante do tabuleiro
+     * @return o motor reaproveitado por esta thread
+     */
+    private static BitmaskSolver solverFor(int boxSize) {
+        BitmaskSolver[] solvers = SOLVERS.get();
+        if (solvers[boxSize] == null) {
+            solvers[boxSize] = BitmaskSolver.forBoxSize(boxSize);
+        }
+        return solvers[boxSize];
+    }
+
+    /**
+     * Tarefa que conta as soluções de uma subárvore, dividindo-a enquanto
+     * não atingir a profundidade limite
+     */
+    private final class SplitTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final SudokuBoard board;
+        private final int depth;
+        private final int limit;
+        private final AtomicInteger count;
+
+        SplitTask(SudokuBoard board, int depth, int limit, AtomicInteger count) {
+            this.board = board;
+            this.depth = depth;
+            this.limit = limit;
+            this.count = count;
+        }
+
+        @Override
+        protected void compute() {
+            if (count.get() >= limit) {
+                return;
+            }
+
+            BitmaskSolver solver = solverFor(board.getBoxSize());
+
+            // Abaixo da profundidade de divisão, a busca é sequencial
+            if (depth >= splitDepth) {
+                solver.countSolutions(board, limit, count);
+                return;
+            }
+
+            int cell = solver.propagateInto(board);
+            if (cell == BitmaskSolver.CONTRADICTION) {
+                return;
+            }
+            if (cell == BitmaskSolver.SOLVED) {
+                count.incrementAndGet();
+                return;
+            }
+
+            // Uma subtarefa para cada candidato da célula com menos opções
+            int row = cell / board.getSize();
+            int col = cell % board.getSize();
+            SplitTask[] children = new SplitTask[board.getSize()];
+            int size = 0;
+
+            for (int value = 1; value <= board.getSize(); value++) {
+                if (board.isValidMove(row, col, value)) {
+                    SudokuBoard child = board.copy();
+                    child.setCellValue(row, col, value);
+                    children[size++] = new SplitTask(child, depth + 1, limit, count);
+                }
+            }
+
+            for (int i = size - 1; i > 0; i--) {
+                children[i].fork();
+            }
+            if (size > 0) {
+                children[0].compute();
+            }
+            for (int i = size - 1; i > 0; i--) {
+                children[i].join();
+            }
+        }
+    }
+}
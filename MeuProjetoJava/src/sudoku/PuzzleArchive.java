@@ -0,0 +1,153 @@
+package sudoku;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Formato binário de arquivo de puzzles 9x9 com acesso direto por id
+ *
+ * O arquivo começa com um cabeçalho de HEADER_SIZE bytes (big-endian):
+ *
+ * <pre>
+ *  0  int   MAGIC ("SDKB")
+ *  4  short VERSION
+ *  6  byte  lado do quadrante (3)
+ *  7  byte  reservado
+ *  8  int   RECORD_SIZE
+ * 12  int   HEADER_SIZE
+ * 16  long  quantidade de puzzles
+ * 24  long  reservado
+ * </pre>
+ *
+ * Em seguida vêm os registros, todos com RECORD_SIZE bytes: os 81 dígitos da
+ * solução com 4 bits cada (célula par no nibble baixo, ímpar no alto), em 41
+ * bytes, e a máscara de 81 bits das pistas, em 11 bytes (célula i no bit i % 8
+ * do byte i / 8). O puzzle é a solução restrita às pistas.
+ *
+ * Como os registros têm tamanho fixo, o índice de deslocamentos é implícito:
+ * o registro do puzzle id começa em HEADER_SIZE + id * RECORD_SIZE. São 52
+ * bytes por puzzle e solução, contra 164 no formato de texto.
+ */
+final class PuzzleArchive {
+    static final int MAGIC = 0x53444B42;
+    static final short VERSION = 1;
+    static final int BOX_SIZE = 3;
+    static final int HEADER_SIZE = 32;
+
+    static final int DIGIT_BYTES = 41; // 81 dígitos de 4 bits
+    static final int GIVEN_BYTES = 11; // 81 bits
+    static final int RECORD_SIZE = DIGIT_BYTES + GIVEN_BYTES;
+
+    private PuzzleArchive() {
+    }
+
+    /**
+     * Grava o cabeçalho no início do buffer
+     *
+     * @param header buffer com pelo menos HEADER_SIZE bytes restantes
+     * @param count  quantidade de puzzles do arquivo
+     */
+    static void writeHeader(ByteBuffer header, long count) {
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.put((byte) BOX_SIZE);
+        header.put((byte) 0);
+        header.putInt(RECORD_SIZE);
+        header.putInt(HEADER_SIZE);
+        header.putLong(count);
+        header.putLong(0L);
+    }
+
+    /**
+     * Lê e valida o cabeçalho
+     *
+     * @param header buffer posicionado no início do arquivo
+     * @return a quantidade de puzzles do arquivo
+     * @throws IOException se o cabeçalho não for de um arquivo compatível
+     */
+    static long readHeader(ByteBuffer header) throws IOException {
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+            throw new IOException("Não é um arquivo de puzzles");
+        }
+
+        short version = header.getShort();
+        int boxSize = header.get();
+        header.get();
+        int recordSize = header.getInt();
+        int headerSize = header.getInt();
+        long count = header.getLong();
+
+        if (version != VERSION || boxSize != BOX_SIZE || recordSize != RECORD_SIZE
+                || headerSize != HEADER_SIZE || count < 0) {
+            throw new IOException("Versão ou layout de arquivo de puzzles não suportado: versão " + version
+                    + ", quadrante " + boxSize + ", registro " + recordSize);
+        }
+        return count;
+    }
+
+    /**
+     * Codifica um puzzle e sua solução em um registro
+     *
+     * @param puzzle   o puzzle (células vazias com 0)
+     * @param solution a solução completa do puzzle
+     * @param record   destino, com pelo menos RECORD_SIZE bytes
+     */
+    static void encode(SudokuBoard puzzle, SudokuBoard solution, byte[] record) {
+        for (int i = 0; i < RECORD_SIZE; i++) {
+            record[i] = 0;
+        }
+
+        for (int cell = 0; cell < 81; cell++) {
+            record[cell >>> 1] |= solution.getCellValue(cell) << ((cell & 1) << 2);
+            if (puzzle.getCellValue(cell) != 0) {
+                record[DIGIT_BYTES + (cell >>> 3)] |= 1 << (cell & 7);
+            }
+        }
+    }
+
+    /**
+     * Decodifica o puzzle de um registro no tabuleiro
+     *
+     * As pistas ficam bloqueadas para edição e as demais células vazias e
+     * editáveis.
+     *
+     * @param record registro lido do arquivo
+     * @param board  tabuleiro 9x9 a ser preenchido
+     * @throws IllegalArgumentException se o tabuleiro não for 9x9
+     */
+    static void decodePuzzle(byte[] record, SudokuBoard board) {
+        if (board.getSize() != 9) {
+            throw new IllegalArgumentException("o formato binário só aceita tabuleiros 9x9");
+        }
+
+        for (int cell = 0; cell < 81; cell++) {
+            boolean given = (record[DIGIT_BYTES + (cell >>> 3)] & (1 << (cell & 7))) != 0;
+            board.setCellValue(cell, given ? digit(record, cell) : 0);
+            board.setCellEditable(cell / 9, cell % 9, !given);
+        }
+    }
+
+    /**
+     * Decodifica a solução de um registro no tabuleiro
+     *
+     * @param record registro lido do arquivo
+     * @param board  tabuleiro 9x9 a ser preenchido
+     * @throws IllegalArgumentException se o tabuleiro não for 9x9
+     */
+    static void decodeSolution(byte[] record, SudokuBoard board) {
+        if (board.getSize() != 9) {
+            throw new IllegalArgumentException("o formato binário só aceita tabuleiros 9x9");
+        }
+
+        for (int cell = 0; cell < 81; cell++) {
+            board.setCellValue(cell, digit(record, cell));
+        }
+    }
+
+    /**
+     * Extrai o dígito de 4 bits de uma célula
+     */
+    private static int digit(byte[] record, int cell) {
+        return (record[cell >>> 1] >>> ((cell & 1) << 2)) & 0xF;
+    }
+}
@@ -0,0 +1,138 @@
+package sudoku;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Leitura por id de arquivos de puzzles no formato binário de PuzzleArchive
+ *
+ * O arquivo é mapeado em memória em segmentos de até 1 GB, cada um com um
+ * número inteiro de registros, o que permite arquivos de centenas de milhões
+ * de puzzles. Carregar um puzzle custa uma conta de deslocamento e a leitura
+ * de um único registro, sem percorrer o arquivo.
+ *
+ * As leituras usam apenas acessos absolutos aos buffers mapeados, então uma
+ * instância pode ser usada por várias threads.
+ */
+class PuzzleArchiveReader implements AutoCloseable {
+    private static final int SEGMENT_RECORDS = (1 << 30) / PuzzleArchive.RECORD_SIZE;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer[] segments;
+    private final long count;
+
+    // Registro lido por cada thread, reaproveitado entre as chamadas
+    private final ThreadLocal<byte[]> records = ThreadLocal
+            .withInitial(() -> new byte[PuzzleArchive.RECORD_SIZE]);
+
+    /**
+     * Abre o arquivo e mapeia os registros
+     *
+     * @param path caminho do arquivo de puzzles
+     * @throws IOException se o arquivo não existir, não for um arquivo de
+     *                     puzzles ou estiver truncado
+     */
+    public PuzzleArchiveReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(PuzzleArchive.HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    break; // Arquivo menor que o cabeçalho
+                }
+            }
+            header.flip();
+            count = PuzzleArchive.readHeader(header);
+
+            long expected = PuzzleArchive.HEADER_SIZE + count * PuzzleArchive.RECORD_SIZE;
+            if (channel.size() < expected) {
+                throw new IOException("Arquivo de puzzles truncado: " + channel.size() + " de " + expected + " bytes");
+            }
+
+            int segmentCount = (int) ((count + SEGMENT_RECORDS - 1) / SEGMENT_RECORDS);
+            segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long first = (long) i * SEGMENT_RECORDS;
+                long records = Math.min(SEGMENT_RECORDS, count - first);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        PuzzleArchive.HEADER_SIZE + first * PuzzleArchive.RECORD_SIZE,
+                        records * PuzzleArchive.RECORD_SIZE);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Obtém a quantidade de puzzles do arquivo
+     *
+     * @return os ids válidos vão de 0 a size() - 1
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Carrega um puzzle no tabuleiro, com as pistas bloqueadas para edição
+     *
+     * @param id    id do puzzle (0 a size() - 1)
+     * @param board tabuleiro 9x9 a ser preenchido
+     * @throws IndexOutOfBoundsException se o id não existir
+     */
+    public void readPuzzle(long id, SudokuBoard board) {
+        PuzzleArchive.decodePuzzle(read(id), board);
+    }
+
+    /**
+     * Carrega um puzzle em um tabuleiro novo
+     *
+     * @param id id do puzzle (0 a size() - 1)
+     * @return o puzzle, com as pistas bloqueadas para edição
+     * @throws IndexOutOfBoundsException se o id não existir
+     */
+    public SudokuBoard readPuzzle(long id) {
+        SudokuBoard board = new SudokuBoard();
+        readPuzzle(id, board);
+        return board;
+    }
+
+    /**
+     * Carrega a solução de um puzzle no tabuleiro
+     *
+     * @param id    id do puzzle (0 a size() - 1)
+     * @param board tabuleiro 9x9 a ser preenchido
+     * @throws IndexOutOfBoundsException se o id não existir
+     */
+    public void readSolution(long id, SudokuBoard board) {
+        PuzzleArchive.decodeSolution(read(id), board);
+    }
+
+    /**
+     * Fecha o canal do arquivo
+     *
+     * @throws IOException se o fechamento falhar
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Copia o registro do id para o buffer da thread atual
+     */
+    private byte[] read(long id) {
+        if (id < 0 || id >= count) {
+            throw new IndexOutOfBoundsException("id " + id + " fora do arquivo de " + count + " puzzles");
+        }
+
+        byte[] record = records.get();
+        MappedByteBuffer segment = segments[(int) (id / SEGMENT_RECORDS)];
+        segment.get((int) (id % SEGMENT_RECORDS) * PuzzleArchive.RECORD_SIZE, record);
+        return record;
+    }
+}
@@ -0,0 +1,232 @@
+package sudoku;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Gravação de arquivos de puzzles no formato binário de PuzzleArchive
+ *
+ * Os registros são acumulados em um buffer e gravados em blocos; a quantidade
+ * de puzzles só é escrita no cabeçalho ao fechar o arquivo. Também converte
+ * arquivos de texto, com um puzzle de 81 caracteres por linha ('1'-'9' para
+ * pistas, '0' ou '.' para vazio), opcionalmente seguido de um separador e da
+ * solução de 81 dígitos. Sem a solução, o puzzle é resolvido na conversão.
+ *
+ * Uma instância não deve ser compartilhada entre threads.
+ */
+class PuzzleArchiveWriter implements AutoCloseable {
+    private static final int BUFFER_RECORDS = 4096; // Registros gravados por vez
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_RECORDS * PuzzleArchive.RECORD_SIZE);
+    private final byte[] record = new byte[PuzzleArchive.RECORD_SIZE];
+    private final BitmaskSolver solver = BitmaskSolver.forBoxSize(3);
+    private final SudokuBoard solution = new SudokuBoard();
+    private final SudokuSolver validator = new SudokuSolver();
+    private long count;
+
+    /**
+     * Cria o arquivo (sobrescrevendo se existir) e reserva o cabeçalho
+     *
+     * @param path caminho do arquivo de puzzles
+     * @throws IOException se o arquivo não puder ser criado
+     */
+    public PuzzleArchiveWriter(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        channel.position(PuzzleArchive.HEADER_SIZE);
+    }
+
+    /**
+     * Ponto de entrada da conversão de texto para binário, chamado por Main
+     *
+     * @param input  caminho do arquivo de texto
+     * @param output caminho do arquivo binário (sobrescrito)
+     */
+    public static void runFromCommandLine(String input, String output) {
+        long start = System.nanoTime();
+        long total;
+
+        try {
+            total = convert(Paths.get(input), Paths.get(output));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Erro na conversão: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d puzzles convertidos em %.2f s (%.0f puzzles/s)%n", total, seconds, total / seconds);
+    }
+
+    /**
+     * Converte um arquivo de texto para o formato binário
+     *
+     * @param input  caminho do arquivo de texto
+     * @param output caminho do arquivo binário (sobrescrito)
+     * @return a quantidade de puzzles convertidos
+     * @throws IOException se a leitura ou a gravação falhar
+     * @throws IllegalArgumentException se alguma linha for inválida ou não
+     *                                  tiver solução
+     */
+    public static long convert(Path input, Path output) throws IOException {
+        SudokuBoard puzzle = new SudokuBoard();
+        SudokuBoard solution = new SudokuBoard();
+        long lineNumber = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.US_ASCII);
+                PuzzleArchiveWriter writer = new PuzzleArchiveWriter(output)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue; // Linha em branco
+                }
+                if (line.length() < 81) {
+                    throw new IllegalArgumentException("linha " + lineNumber + " tem menos de 81 caracteres");
+                }
+
+                parse(line, 0, puzzle);
+
+                try {
+                    // A solução, se houver, vem depois de um separador qualquer
+                    if (line.length() >= 163) {
+                        parse(line, line.length() - 81, solution);
+                        writer.write(puzzle, solution);
+                    } else {
+                        writer.write(puzzle);
+                    }
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("linha " + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+
+            return writer.size();
+        }
+    }
+
+    /**
+     * Grava um puzzle, resolvendo-o para obter a solução
+     *
+     * @param puzzle o puzzle 9x9 (não é alterado)
+     * @return o id do puzzle no arquivo
+     * @throws IOException se a gravação falhar
+     * @throws IllegalArgumentException se o puzzle não tiver solução
+     */
+    public long write(SudokuBoard puzzle) throws IOException {
+        checkSize(puzzle);
+        for (int cell = 0; cell < 81; cell++) {
+            solution.setCellValue(cell, puzzle.getCellValue(cell));
+        }
+        if (!solver.solve(solution)) {
+            throw new IllegalArgumentException("puzzle sem solução");
+        }
+        return append(puzzle, solution);
+    }
+
+    /**
+     * Grava um puzzle com a solução já conhecida
+     *
+     * @param puzzle   o puzzle 9x9
+     * @param solution a solução completa, que deve manter as pistas
+     * @return o id do puzzle no arquivo
+     * @throws IOException se a gravação falhar
+     * @throws IllegalArgumentException se a solução for inválida ou não
+     *                                  corresponder ao puzzle
+     */
+    public long write(SudokuBoard puzzle, SudokuBoard solution) throws IOException {
+        checkSize(puzzle);
+        checkSize(solution);
+        if (!validator.isValidSolution(solution)) {
+            throw new IllegalArgumentException("solução inválida");
+        }
+        for (int cell = 0; cell < 81; cell++) {
+            int given = puzzle.getCellValue(cell);
+            if (given != 0 && given != solution.getCellValue(cell)) {
+                throw new IllegalArgumentException("solução não corresponde às pistas");
+            }
+        }
+        return append(puzzle, solution);
+    }
+
+    /**
+     * Obtém a quantidade de puzzles gravados até agora
+     *
+     * @return o id que o próximo puzzle receberá
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Grava os registros pendentes e a quantidade final no cabeçalho
+     *
+     * @throws IOException se a gravação falhar
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+
+            ByteBuffer header = ByteBuffer.allocate(PuzzleArchive.HEADER_SIZE);
+            PuzzleArchive.writeHeader(header, count);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Codifica o registro e o acrescenta ao buffer
+     */
+    private long append(SudokuBoard puzzle, SudokuBoard solution) throws IOException {
+        PuzzleArchive.encode(puzzle, solution, record);
+        if (buffer.remaining() < record.length) {
+            flush();
+        }
+        buffer.put(record);
+        return count++;
+    }
+
+    /**
+     * Grava o conteúdo do buffer no canal
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Confere se o tabuleiro é 9x9, o único tamanho do formato
+     */
+    private static void checkSize(SudokuBoard board) {
+        if (board.getSize() != 9) {
+            throw new IllegalArgumentException("o formato binário só aceita tabuleiros 9x9");
+        }
+    }
+
+    /**
+     * Lê 81 caracteres a partir de offset ('1'-'9' preenchido, qualquer outro
+     * vazio)
+     */
+    private static void parse(String text, int offset, SudokuBoard board) {
+        for (int cell = 0; cell < 81; cell++) {
+            char c = text.charAt(offset + cell);
+            board.setCellValue(cell, c >= '1' && c <= '9' ? c - '0' : 0);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package sudoku;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estoque de puzzles pré-gerados, separados por nível de dificuldade
+ *
+ * Threads de trabalho em segundo plano mantêm cada nível abastecido até a
+ * marca configurada (watermark). Cada pedido de puzzle conta como demanda do
+ * nível, e cada puzzle gerado para ele desconta um pedido. As threads geram
+ * primeiro para o nível com mais pedidos não atendidos e, sem pedidos, para o
+ * nível com maior falta. O nível preferido (o das partidas de SudokuGame, por
+ * padrão) começa com uma demanda igual à marca, para ser abastecido antes dos
+ * outros. Quando todos os níveis estão cheios, as threads dormem até que algum
+ * puzzle seja retirado. Retirar um puzzle pronto custa O(1); só quando o nível está
+ * vazio o puzzle é gerado na própria thread chamadora.
+ *
+ * Propriedades: -Dsudoku.pool.watermark=4 -Dsudoku.pool.workers=1
+ */
+class PuzzlePool implements AutoCloseable {
+    private final Map<Difficulty, BlockingQueue<SudokuBoard>> ready = new EnumMap<>(Difficulty.class);
+
+    // Puzzles em geração para cada nível, para que duas threads não cubram a
+    // mesma falta
+    private final Map<Difficulty, AtomicInteger> pending = new EnumMap<>(Difficulty.class);
+
+    // Pedidos de cada nível ainda não repostos pelas threads
+    private final Map<Difficulty, AtomicInteger> demand = new EnumMap<>(Difficulty.class);
+
+    private final int watermark;
+    private final ExecutorService executor;
+    private final SplittableRandom seedSource;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * Construtor da classe PuzzlePool
+     * Usa a marca e a quantidade de threads das propriedades de sistema e
+     * abastece primeiro o nível MEDIUM, o das partidas de SudokuGame
+     */
+    public PuzzlePool() {
+        this(Integer.getInteger("sudoku.pool.watermark", 4), Integer.getInteger("sudoku.pool.workers", 1),
+                new SplittableRandom());
+    }
+
+    /**
+     * Construtor da classe PuzzlePool que abastece primeiro o nível MEDIUM
+     *
+     * @param watermark quantidade de puzzles mantida pronta em cada nível
+     * @param workers   número de threads de reposição
+     * @param seed      fonte aleatória de onde saem os randoms de cada thread
+     */
+    public PuzzlePool(int watermark, int workers, SplittableRandom seed) {
+        this(watermark, workers, seed, Difficulty.MEDIUM);
+    }
+
+    /**
+     * Construtor da classe PuzzlePool
+     *
+     * A geração começa imediatamente, pelo nível preferido.
+     *
+     * @param watermark quantidade de puzzles mantida pronta em cada nível
+     * @param workers   número de threads de reposição
+     * @param seed      fonte aleatória de onde saem os randoms de cada thread
+     * @param preferred nível abastecido antes dos outros
+     */
+    public PuzzlePool(int watermark, int workers, SplittableRandom seed, Difficulty preferred) {
+        if (watermark < 1) {
+            throw new IllegalArgumentException("watermark deve ser maior que zero: " + watermark);
+        }
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers deve ser maior que zero: " + workers);
+        }
+
+        this.watermark = watermark;
+        this.seedSource = seed;
+        for (Difficulty difficulty : Difficulty.values()) {
+            ready.put(difficulty, new ArrayBlockingQueue<>(watermark));
+            pending.put(difficulty, new AtomicInteger());
+            demand.put(difficulty, new AtomicInteger());
+        }
+        demand.get(preferred).set(watermark);
+
+        // Threads de plataforma e daemon: a geração é limitada por CPU e não
+        // deve impedir o encerramento da aplicação
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, task -> {
+            Thread thread = new Thread(task, "sudoku-pool-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (int i = 0; i < workers; i++) {
+            SplittableRandom random = seedSource.split();
+            executor.execute(() -> refill(new SudokuGenerator(random)));
+        }
+    }
+
+    /**
+     * Retira um puzzle pronto do nível, sem esperar
+     *
+     * @param difficulty o nível de dificuldade desejado
+     * @return o puzzle, ou null se o nível estiver vazio
+     */
+    public SudokuBoard poll(Difficulty difficulty) {
+        demand.get(difficulty).incrementAndGet();
+        SudokuBoard board = ready.get(difficulty).poll();
+        if (board != null) {
+            hits.increment();
+            wakeWorkers();
+        }
+        return board;
+    }
+
+    /**
+     * Retira um puzzle do nível, gerando um na thread atual se o nível
+     * estiver vazio
+     *
+     * @param difficulty o nível de dificuldade desejado
+     * @return um puzzle do nível pedido
+     */
+    public SudokuBoard take(Difficulty difficulty) {
+        SudokuBoard board = poll(difficulty);
+        if (board != null) {
+            return board;
+        }
+
+        misses.increment();
+        board = new SudokuBoard();
+        SplittableRandom random;
+        synchronized (seedSource) {
+            random = seedSource.split();
+        }
+        new SudokuGenerator(random).generatePuzzle(board, difficulty);
+        return board;
+    }
+
+    /**
+     * Obtém a quantidade de puzzles prontos em um nível
+     *
+     * @param difficulty o nível de dificuldade
+     * @return puzzles disponíveis para retirada imediata
+     */
+    public int available(Difficulty difficulty) {
+        return ready.get(difficulty).size();
+    }
+
+    /**
+     * Obtém a quantidade de retiradas atendidas pelo estoque
+     *
+     * @return retiradas que não precisaram gerar um puzzle
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Obtém a quantidade de retiradas que encontraram o nível vazio
+     *
+     * @return retiradas em que o puzzle foi gerado na thread chamadora
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Encerra as threads de reposição; os puzzles prontos continuam
+     * disponíveis
+     */
+    @Override
+    public void close() {
+        closed = true;
+        wakeWorkers();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Laço de uma thread de reposição: gera para o nível mais pedido (ou com
+     * maior falta) e dorme quando todos estão cheios
+     *
+     * @param generator gerador exclusivo desta thread
+     */
+    private void refill(SudokuGenerator generator) {
+        while (!closed && !Thread.currentThread().isInterrupted()) {
+            Difficulty difficulty = reserveNext();
+            if (difficulty == null) {
+                synchronized (this) {
+                    try {
+                        while (!closed && isFull()) {
+                            wait();
+                        }
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                continue;
+            }
+
+            try {
+                SudokuBoard board = new SudokuBoard();
+                generator.generatePuzzle(board, difficulty);
+                ready.get(difficulty).offer(board);
+                demand.get(difficulty).getAndUpdate(count -> Math.max(count - 1, 0));
+            } finally {
+                pending.get(difficulty).decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Escolhe, entre os níveis com falta, o de mais pedidos não atendidos (e,
+     * no empate, o de maior falta) e reserva uma geração para ele
+     *
+     * @return o nível reservado, ou null se todos estiverem cheios
+     */
+    private Difficulty reserveNext() {
+        while (true) {
+            Difficulty best = null;
+            int bestDemand = 0;
+            int bestMissing = 0;
+            for (Difficulty difficulty : Difficulty.values()) {
+                int missing = missing(difficulty);
+                if (missing <= 0) {
+                    continue;
+                }
+                int requested = demand.get(difficulty).get();
+                if (best == null || requested > bestDemand || (requested == bestDemand && missing > bestMissing)) {
+                    best = difficulty;
+                    bestDemand = requested;
+                    bestMissing = missing;
+                }
+            }
+
+            if (best == null) {
+                return null;
+            }
+
+            // Outra thread pode ter reservado a mesma falta no meio tempo
+            AtomicInteger reserved = pending.get(best);
+            int current = reserved.get();
+            if (current < watermark - ready.get(best).size() && reserved.compareAndSet(current, current + 1)) {
+                return best;
+            }
+        }
+    }
+
+    /**
+     * Calcula quantos puzzles faltam em um nível, descontando os em geração
+     */
+    private int missing(Difficulty difficulty) {
+        return watermark - ready.get(difficulty).size() - pending.get(difficulty).get();
+    }
+
+    /**
+     * Verifica se nenhum nível tem falta
+     */
+    private boolean isFull() {
+        for (Difficulty difficulty : Difficulty.values()) {
+            if (missing(difficulty) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Acorda as threads de reposição que esperam por uma retirada
+     */
+    private void wakeWorkers() {
+        synchronized (this) {
+            notifyAll();
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package sudoku;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Gerador de grades completas (soluções) aleatórias
+ *
+ * A grade é preenchida por um backtracking com máscaras de bits e escolha da
+ * célula com menos candidatos (MRV), como em SolutionSpliterator, mas o
+ * dígito de cada célula é sorteado entre os candidatos em vez de seguir a
+ * ordem crescente. Assim a primeira grade encontrada já é aleatória, sem
+ * blocos pré-preenchidos nem o viés de um solucionador determinístico, e a
+ * busca quase nunca precisa voltar atrás.
+ *
+ * Como toda busca aleatória, a quantidade de nós tem cauda longa em alguns
+ * sorteios; uma busca que passa de MAX_NODES_PER_CELL nós por célula é
+ * abandonada e recomeçada do zero, o que limita o pior caso.
+ *
+ * A grade entregue é a grade da busca com uma transformação de simetria
+ * sorteada (SudokuSymmetry), como em SudokuTransformGenerator. Isso espalha a
+ * preferência da busca por certas posições (a ordem em que os empates do MRV
+ * são resolvidos) por todas as grades equivalentes, mas não muda a frequência
+ * com que cada classe de grades equivalentes aparece, que continua a da
+ * busca. A transformação também permite reaproveitar uma busca: com
+ * gridsPerSearch maior que 1, cada grade da busca dá origem a essa quantidade
+ * de grades transformadas, que custam só alguns sorteios e uma passada pelas
+ * células. Grades consecutivas do mesmo lote são equivalentes entre si; com
+ * gridsPerSearch = 1 (o padrão), cada grade vem de uma busca nova.
+ *
+ * Com a mesma semente, a mesma sequência de grades é produzida. Cada instância
+ * guarda estado e não deve ser compartilhada entre threads.
+ */
+class SolutionGridGenerator {
+    private static final int MAX_NODES_PER_CELL = 64;
+
+    private final SudokuGeometry geometry;
+    private final SplittableRandom random;
+    private final int maxNodes;
+    private final int gridsPerSearch;
+    private int pending; // Grades que ainda saem da busca atual
+
+    private final int[] grid; // Valores atuais (0 = vazio)
+    private final int[] used; // Dígitos usados: linhas, colunas e quadrantes
+
+    // Células vazias nas primeiras emptyCount posições; a célula de cada
+    // nível da pilha fica logo depois delas, na ordem inversa
+    private final int[] empty;
+    private int emptyCount;
+
+    // Pilha de níveis: célula e candidatos ainda não sorteados
+    private final int[] stackCell;
+    private final int[] stackCandidates;
+    private int depth;
+
+    // Transformação sorteada a cada grade e a grade transformada
+    private final SudokuSymmetry symmetry;
+    private final byte[] output;
+
+    /**
+     * Construtor da classe SolutionGridGenerator
+     *
+     * @param boxSize lado de um quadrante (3 para o 9x9)
+     */
+    public SolutionGridGenerator(int boxSize) {
+        this(boxSize, new SplittableRandom());
+    }
+
+    /**
+     * Construtor da classe SolutionGridGenerator com semente fixa, para
+     * execuções reproduzíveis
+     *
+     * @param boxSize lado de um quadrante (3 para o 9x9)
+     * @param seed    semente da fonte aleatória
+     */
+    public SolutionGridGenerator(int boxSize, long seed) {
+        this(boxSize, new SplittableRandom(seed));
+    }
+
+    /**
+     * Construtor da classe SolutionGridGenerator com uma fonte aleatória
+     * própria
+     *
+     * @param boxSize lado de um quadrante (3 para o 9x9)
+     * @param random  fonte de números aleatórios usada por este gerador
+     */
+    public SolutionGridGenerator(int boxSize, SplittableRandom random) {
+        this(boxSize, random, 1);
+    }
+
+    /**
+     * Construtor da classe SolutionGridGenerator que reaproveita cada busca
+     *
+     * @param boxSize        lado de um quadrante (3 para o 9x9)
+     * @param random         fonte de números aleatórios usada por este gerador
+     * @param gridsPerSearch grades transformadas entregues por busca
+     */
+    public SolutionGridGenerator(int boxSize, SplittableRandom random, int gridsPerSearch) {
+        if (gridsPerSearch < 1) {
+            throw new IllegalArgumentException("gridsPerSearch deve ser maior que zero: " + gridsPerSearch);
+        }
+
+        this.geometry = SudokuGeometry.of(boxSize);
+        this.random = random;
+        this.gridsPerSearch = gridsPerSearch;
+        this.maxNodes = MAX_NODES_PER_CELL * geometry.cellCount;
+        this.grid = new int[geometry.cellCount];
+        this.used = new int[3 * geometry.size];
+        this.empty = new int[geometry.cellCount];
+        this.stackCell = new int[geometry.cellCount];
+        this.stackCandidates = new int[geometry.cellCount];
+        this.symmetry = new SudokuSymmetry(geometry, random);
+        this.output = new byte[geometry.cellCount];
+    }
+
+    /**
+     * Obtém o lado do quadrante das grades geradas
+     *
+     * @return 3 para o tabuleiro 9x9
+     */
+    public int getBoxSize() {
+        return geometry.boxSize;
+    }
+
+    /**
+     * Gera uma grade completa em um tabuleiro novo
+     *
+     * @return o tabuleiro com todas as células preenchidas e editáveis
+     */
+    public SudokuBoard generate() {
+        SudokuBoard board = new SudokuBoard(geometry.boxSize);
+        fill(board);
+        return board;
+    }
+
+    /**
+     * Preenche todas as células do tabuleiro com uma grade completa
+     * A edição das células não é alterada
+     *
+     * @param board tabuleiro do tamanho deste gerador
+     */
+    public void fill(SudokuBoard board) {
+        if (board.getGeometry() != geometry) {
+            throw new IllegalArgumentException("Tabuleiro de tamanho " + board.getSize() + ", esperado "
+                    + geometry.size);
+        }
+
+        nextGrid();
+        for (int cell = 0; cell < geometry.cellCount; cell++) {
+            board.setCellValue(cell, output[cell]);
+        }
+    }
+
+    /**
+     * Escreve uma grade completa, um valor por célula em ordem de linha
+     *
+     * @param dest   destino, com pelo menos tamanho² bytes a partir de offset
+     * @param offset posição inicial no destino
+     */
+    public void fill(byte[] dest, int offset) {
+        nextGrid();
+        System.arraycopy(output, 0, dest, offset, output.length);
+    }
+
+    /**
+     * Produz a próxima grade em output, buscando uma grade nova quando a
+     * atual já rendeu gridsPerSearch grades
+     */
+    private void nextGrid() {
+        if (pending == 0) {
+            while (!search()) {
+                // Recomeça com outro sorteio
+            }
+            pending = gridsPerSearch;
+        }
+        pending--;
+        symmetry.next();
+        symmetry.apply(grid, output);
+    }
+
+    /**
+     * Uma busca completa a partir da grade vazia
+     *
+     * @return false se o limite de nós foi atingido
+     */
+    private boolean search() {
+        for (int cell = 0; cell < geometry.cellCount; cell++) {
+            grid[cell] = 0;
+            empty[cell] = cell;
+        }
+        Arrays.fill(used, 0);
+        emptyCount = geometry.cellCount;
+        depth = 0;
+        pushMostConstrained();
+
+        for (int nodes = 0; nodes < maxNodes && depth > 0; nodes++) {
+            int level = depth - 1;
+            int cell = stackCell[level];
+
+            // Tira o dígito sorteado antes neste nível
+            if (grid[cell] != 0) {
+                unassign(cell);
+            }
+
+            int remaining = stackCandidates[level];
+            if (remaining == 0) {
+                // Nível esgotado: a célula volta para as vazias
+                depth--;
+                emptyCount++;
+                continue;
+            }
+
+            int bit = pickCandidate(remaining);
+            stackCandidates[level] = remaining ^ bit;
+            assign(cell, Integer.numberOfTrailingZeros(bit) + 1);
+
+            if (emptyCount == 0) {
+                return true;
+            }
+            pushMostConstrained();
+        }
+        return false;
+    }
+
+    /**
+     * Sorteia um dos bits ligados da máscara
+     */
+    private int pickCandidate(int candidates) {
+        for (int skip = random.nextInt(Integer.bitCount(candidates)); skip > 0; skip--) {
+            candidates &= candidates - 1;
+        }
+        return candidates & -candidates;
+    }
+
+    /**
+     * Tira a célula vazia com menos candidatos da lista e a empilha
+     * Uma célula sem candidatos entra com a máscara vazia e é descartada na
+     * próxima iteração
+     */
+    private void pushMostConstrained() {
+        int bestIndex = 0;
+        int bestCount = Integer.MAX_VALUE;
+        for (int i = 0; i < emptyCount; i++) {
+            int count = Integer.bitCount(candidates(empty[i]));
+            if (count < bestCount) {
+                bestIndex = i;
+                bestCount = count;
+                if (count <= 1) {
+                    break;
+                }
+            }
+        }
+
+        // Troca com a última vazia, que passa a ser a célula deste nível
+        int last = --emptyCount;
+        int best = empty[bestIndex];
+        empty[bestIndex] = empty[last];
+        empty[last] = best;
+
+        stackCell[depth] = best;
+        stackCandidates[depth] = candidates(best);
+        depth++;
+    }
+
+    /**
+     * Calcula os candidatos de uma célula como máscara de bits
+     */
+    private int candidates(int cell) {
+        int[] units = geometry.unitsOf[cell];
+        return ~(used[units[0]] | used[units[1]] | used[units[2]]) & geometry.allDigits;
+    }
+
+    /**
+     * Preenche uma célula e atualiza as máscaras
+     */
+    private void assign(int cell, int value) {
+        int[] units = geometry.unitsOf[cell];
+        int bit = 1 << (value - 1);
+        grid[cell] = value;
+        used[units[0]] |= bit;
+        used[units[1]] |= bit;
+        used[units[2]] |= bit;
+    }
+
+    /**
+     * Esvazia uma célula e atualiza as máscaras
+     */
+    private void unassign(int cell) {
+        int[] units = geometry.unitsOf[cell];
+        int clear = ~(1 << (grid[cell] - 1));
+        grid[cell] = 0;
+        used[units[0]] &= clear;
+        used[units[1]] &= clear;
+        used[units[2]] &= clear;
+    }
+}
@@ -0,0 +1,272 @@
+package sudoku;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Enumeração preguiçosa das soluções de um tabuleiro
+ *
+ * A busca é um backtracking com máscaras de bits e escolha da célula com menos
+ * candidatos (MRV), mas com uma pilha explícita em vez de recursão: cada nível
+ * guarda a célula e os candidatos que ainda faltam tentar. Assim a busca pode
+ * parar em uma solução, entregá-la e continuar do mesmo ponto na próxima
+ * chamada. A memória é a de uma pilha da profundidade do tabuleiro, qualquer
+ * que seja a quantidade de soluções percorridas.
+ *
+ * trySplit entrega metade dos candidatos pendentes do nível mais raso que
+ * ainda tem pelo menos dois, junto com as atribuições acima dele, sem
+ * materializar a árvore. Se nenhum nível tiver dois candidatos pendentes (no
+ * início, quando a célula da raiz tem um só, ou em cada metade de uma divisão
+ * anterior), trySplit avança a busca pelos candidatos únicos, empilhando os
+ * próximos níveis, até encontrar onde dividir. Assim um stream paralelo
+ * continua dividindo a árvore em níveis cada vez mais fundos.
+ *
+ * Cada solução é entregue como um array novo com um valor por célula, em
+ * ordem de linha.
+ */
+class SolutionSpliterator implements Spliterator<byte[]> {
+    private final SudokuGeometry geometry;
+    private final int[] grid; // Valores atuais (0 = vazio)
+    private final int[] used; // Dígitos usados: linhas, colunas e quadrantes
+    private int emptyCount;
+
+    // Pilha de níveis: célula e candidatos ainda não tentados
+    private final int[] stackCell;
+    private final int[] stackCandidates;
+    private int depth;
+
+    private boolean pendingFull; // Tabuleiro já completo, ainda não entregue
+
+    /**
+     * Cria a enumeração das soluções do tabuleiro
+     *
+     * @param board o tabuleiro (não é alterado)
+     */
+    SolutionSpliterator(SudokuBoard board) {
+        this(board.getGeometry());
+
+        boolean consistent = true;
+        for (int cell = 0; cell < geometry.cellCount; cell++) {
+            int value = board.getCellValue(cell);
+            if (value == 0) {
+                continue;
+            }
+            if ((candidates(cell) & (1 << (value - 1))) == 0) {
+                consistent = false; // Pistas em conflito: nenhuma solução
+                break;
+            }
+            assign(cell, value);
+        }
+
+        if (consistent) {
+            if (emptyCount == 0) {
+                pendingFull = true;
+            } else {
+                pushMostConstrained();
+            }
+        }
+    }
+
+    private SolutionSpliterator(SudokuGeometry geometry) {
+        this.geometry = geometry;
+        this.grid = new int[geometry.cellCount];
+        this.used = new int[3 * geometry.size];
+        this.emptyCount = geometry.cellCount;
+        this.stackCell = new int[geometry.cellCount];
+        this.stackCandidates = new int[geometry.cellCount];
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super byte[]> action) {
+        if (pendingFull) {
+            pendingFull = false;
+            action.accept(snapshot());
+            return true;
+        }
+
+        while (depth > 0) {
+            int level = depth - 1;
+            int cell = stackCell[level];
+
+            // Tira o dígito tentado antes neste nível
+            if (grid[cell] != 0) {
+                unassign(cell);
+            }
+
+            int remaining = stackCandidates[level];
+            if (remaining == 0) {
+                depth--; // Nível esgotado: volta para o anterior
+                continue;
+            }
+
+            int bit = remaining & -remaining;
+            stackCandidates[level] = remaining ^ bit;
+            assign(cell, Integer.numberOfTrailingZeros(bit) + 1);
+
+            if (emptyCount == 0) {
+                // A próxima chamada continua pelo próximo candidato deste nível
+                action.accept(snapshot());
+                return true;
+            }
+            pushMostConstrained();
+        }
+        return false;
+    }
+
+    @Override
+    public Spliterator<byte[]> trySplit() {
+        // O nível mais raso com pelo menos dois candidatos pendentes cobre a
+        // maior parte da árvore que ainda falta
+        int level = 0;
+        while (level < depth && Integer.bitCount(stackCandidates[level]) < 2) {
+            level++;
+        }
+        if (level == depth) {
+            if (!descendToBranch()) {
+                return null;
+            }
+            level = depth - 1;
+        }
+
+        // Metade dos candidatos pendentes vai para a nova enumeração
+        int remaining = stackCandidates[level];
+        int half = 0;
+        for (int i = Integer.bitCount(remaining) / 2; i > 0; i--) {
+            int bit = remaining & -remaining;
+            remaining ^= bit;
+            half |= bit;
+        }
+        stackCandidates[level] = remaining;
+
+        // A nova enumeração parte das atribuições acima do nível dividido
+        SolutionSpliterator split = new SolutionSpliterator(geometry);
+        for (int cell = 0; cell < geometry.cellCount; cell++) {
+            if (grid[cell] != 0) {
+                split.assign(cell, grid[cell]);
+            }
+        }
+        for (int i = level; i < depth; i++) {
+            int cell = stackCell[i];
+            if (split.grid[cell] != 0) {
+                split.unassign(cell);
+            }
+        }
+        split.stackCell[0] = stackCell[level];
+        split.stackCandidates[0] = half;
+        split.depth = 1;
+        return split;
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE; // Desconhecido sem percorrer a árvore
+    }
+
+    @Override
+    public int characteristics() {
+        return DISTINCT | NONNULL | IMMUTABLE;
+    }
+
+    /**
+     * Avança a busca enquanto o nível do topo ainda não foi tentado e tem um
+     * único candidato, empilhando o nível seguinte a cada atribuição
+     *
+     * Faz o mesmo que tryAdvance faria nesses níveis, então nenhuma solução é
+     * perdida: se a atribuição completar o tabuleiro, a solução fica pendente
+     * para a próxima chamada de tryAdvance.
+     *
+     * @return true se o topo passou a ter pelo menos dois candidatos
+     *         pendentes, false se não há onde dividir
+     */
+    private boolean descendToBranch() {
+        while (depth > 0 && !pendingFull) {
+            int level = depth - 1;
+            int cell = stackCell[level];
+            int remaining = stackCandidates[level];
+            if (grid[cell] != 0 || Integer.bitCount(remaining) != 1) {
+                return grid[cell] == 0 && Integer.bitCount(remaining) >= 2;
+            }
+
+            stackCandidates[level] = 0;
+            assign(cell, Integer.numberOfTrailingZeros(remaining) + 1);
+            if (emptyCount == 0) {
+                pendingFull = true;
+            } else {
+                pushMostConstrained();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Empilha a célula vazia com menos candidatos
+     * Uma célula sem candidatos entra com a máscara vazia e é descartada na
+     * próxima iteração
+     */
+    private void pushMostConstrained() {
+        int best = -1;
+        int bestCount = Integer.MAX_VALUE;
+        for (int cell = 0; cell < geometry.cellCount; cell++) {
+            if (grid[cell] != 0) {
+                continue;
+            }
+            int count = Integer.bitCount(candidates(cell));
+            if (count < bestCount) {
+                best = cell;
+                bestCount = count;
+                if (count <= 1) {
+                    break;
+                }
+            }
+        }
+
+        stackCell[depth] = best;
+        stackCandidates[depth] = candidates(best);
+        depth++;
+    }
+
+    /**
+     * Copia a grade atual (uma solução completa)
+     */
+    private byte[] snapshot() {
+        byte[] solution = new byte[geometry.cellCount];
+        for (int cell = 0; cell < solution.length; cell++) {
+            solution[cell] = (byte) grid[cell];
+        }
+        return solution;
+    }
+
+    /**
+     * Calcula os candidatos de uma célula como máscara de bits
+     */
+    private int candidates(int cell) {
+        int[] units = geometry.unitsOf[cell];
+        return ~(used[units[0]] | used[units[1]] | used[units[2]]) & geometry.allDigits;
+    }
+
+    /**
+     * Preenche uma célula e atualiza as máscaras
+     */
+    private void assign(int cell, int value) {
+        int[] units = geometry.unitsOf[cell];
+        int bit = 1 << (value - 1);
+        grid[cell] = value;
+        used[units[0]] |= bit;
+        used[units[1]] |= bit;
+        used[units[2]] |= bit;
+        emptyCount--;
+    }
+
+    /**
+     * Esvazia uma célula e atualiza as máscaras
+     */
+    private void unassign(int cell) {
+        int[] units = geometry.unitsOf[cell];
+        int clear = ~(1 << (grid[cell] - 1));
+        grid[cell] = 0;
+        used[units[0]] &= clear;
+        used[units[1]] &= clear;
+        used[units[2]] &= clear;
+        emptyCount++;
+    }
+}
@@ -0,0 +1,285 @@
+package sudoku;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache de resultados de resolução, na frente do solucionador
+ *
+ * A chave é a impressão digital compacta do puzzle: os valores das células
+ * empacotados em longs (4 bits por célula no 9x9, 6 longs no total). O valor
+ * guarda a primeira solução, empacotada da mesma forma, e se ela é única; um
+ * puzzle sem solução também fica registrado. Repetir um puzzle custa montar a
+ * chave e uma consulta de hash, em vez de uma busca.
+ *
+ * As entradas são divididas em segmentos, cada um um LinkedHashMap em ordem
+ * de acesso com o próprio lock, que descarta a entrada usada há mais tempo
+ * (LRU) quando passa da sua parte da capacidade. Leitores em segmentos
+ * diferentes não disputam o mesmo lock, e a resolução de um puzzle ausente é
+ * feita fora do lock. Uma instância pode ser compartilhada entre threads.
+ */
+class SolveCache {
+    private static final int MAX_SEGMENTS = 16;
+
+    // Motores de cada thread, um por lado de quadrante
+    private static final ThreadLocal<BitmaskSolver[]> SOLVERS = ThreadLocal
+            .withInitial(() -> new BitmaskSolver[SudokuGeometry.MAX_BOX_SIZE + 1]);
+
+    /**
+     * Resultado da resolução de um puzzle
+     */
+    static final class Result {
+        private final SudokuGeometry geometry;
+        private final long[] solution; // null se não houver solução
+        private final boolean unique;
+
+        private Result(SudokuGeometry geometry, long[] solution, boolean unique) {
+            this.geometry = geometry;
+            this.solution = solution;
+            this.unique = unique;
+        }
+
+        /**
+         * Verifica se o puzzle tem solução
+         *
+         * @return true se há pelo menos uma solução
+         */
+        public boolean isSolvable() {
+            return solution != null;
+        }
+
+        /**
+         * Verifica se a solução é única
+         *
+         * @return true se há exatamente uma solução
+         */
+        public boolean isUnique() {
+            return unique;
+        }
+
+        /**
+         * Obtém o valor de uma célula na solução
+         *
+         * @param cell índice da célula em ordem de linha
+         * @return o valor da solução (a primeira encontrada, se não for única)
+         * @throws IllegalStateException se o puzzle não tiver solução
+         */
+        public int getValue(int cell) {
+            if (solution == null) {
+                throw new IllegalStateException("O puzzle não tem solução");
+            }
+            return unpack(solution, cell, bitsPerCell(geometry));
+        }
+
+        /**
+         * Preenche o tabuleiro com a solução
+         *
+         * @param board tabuleiro do mesmo tamanho do puzzle
+         * @throws IllegalArgumentException se o tabuleiro for de outro tamanho
+         * @throws IllegalStateException    se o puzzle não tiver solução
+         */
+        public void copyTo(SudokuBoard board) {
+            if (solution == null) {
+                throw new IllegalStateException("O puzzle não tem solução");
+            }
+            if (board.getGeometry() != geometry) {
+                throw new IllegalArgumentException("Tabuleiro de tamanho " + board.getSize() + ", esperado "
+                        + geometry.size);
+            }
+            for (int cell = 0; cell < geometry.cellCount; cell++) {
+                board.setCellValue(cell, getValue(cell));
+            }
+        }
+    }
+
+    /**
+     * Impressão digital de um puzzle: tamanho e valores empacotados
+     */
+    private static final class Key {
+        private final int boxSize;
+        private final long[] words;
+        private final int hash;
+
+        Key(int boxSize, long[] words) {
+            this.boxSize = boxSize;
+            this.words = words;
+            this.hash = 31 * boxSize + Arrays.hashCode(words);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return boxSize == key.boxSize && Arrays.equals(words, key.words);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Segmento LRU com capacidade própria
+     */
+    private static final class Segment extends LinkedHashMap<Key, Result> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Result> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Construtor da classe SolveCache
+     *
+     * @param maxEntries quantidade máxima de puzzles guardados
+     */
+    public SolveCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries deve ser maior que zero: " + maxEntries);
+        }
+
+        // Potência de 2 para escolher o segmento com uma máscara; o resto da
+        // divisão vai, uma entrada para cada, aos primeiros segmentos
+        int count = Integer.highestOneBit(Math.min(MAX_SEGMENTS, maxEntries));
+        int share = maxEntries / count;
+        int remainder = maxEntries % count;
+        segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(Math.max(1, share + (i < remainder ? 1 : 0)));
+        }
+    }
+
+    /**
+     * Obtém o resultado da resolução do puzzle, do cache ou resolvendo-o
+     *
+     * @param puzzle o puzzle (não é alterado)
+     * @return a solução e se ela é única
+     */
+    public Result solve(SudokuBoard puzzle) {
+        Key key = keyOf(puzzle);
+        Segment segment = segments[(key.hash ^ (key.hash >>> 16)) & (segments.length - 1)];
+
+        Result result;
+        synchronized (segment) {
+            result = segment.get(key);
+        }
+        if (result != null) {
+            hits.increment();
+            return result;
+        }
+
+        // Duas threads podem resolver o mesmo puzzle ao mesmo tempo; o
+        // resultado é o mesmo, e a segunda gravação só o substitui
+        misses.increment();
+        result = compute(puzzle);
+        synchronized (segment) {
+            segment.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Obtém a quantidade de consultas atendidas pelo cache
+     *
+     * @return consultas que não precisaram resolver o puzzle
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Obtém a quantidade de consultas que precisaram resolver o puzzle
+     *
+     * @return consultas sem resultado guardado
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Obtém a quantidade de puzzles guardados
+     *
+     * @return entradas em todos os segmentos
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Resolve o puzzle contando até duas soluções
+     */
+    private static Result compute(SudokuBoard puzzle) {
+        SudokuGeometry geometry = puzzle.getGeometry();
+        BitmaskSolver[] solvers = SOLVERS.get();
+        if (solvers[geometry.boxSize] == null) {
+            solvers[geometry.boxSize] = BitmaskSolver.forBoxSize(geometry.boxSize);
+        }
+
+        SudokuBoard board = puzzle.copy();
+        int solutions = solvers[geometry.boxSize].solveAndCount(board, 2);
+        if (solutions == 0) {
+            return new Result(geometry, null, false);
+        }
+        return new Result(geometry, pack(board), solutions == 1);
+    }
+
+    /**
+     * Monta a chave com os valores das células do puzzle
+     */
+    private static Key keyOf(SudokuBoard puzzle) {
+        return new Key(puzzle.getBoxSize(), pack(puzzle));
+    }
+
+    /**
+     * Empacota os valores das células em longs
+     */
+    private static long[] pack(SudokuBoard board) {
+        SudokuGeometry geometry = board.getGeometry();
+        int bits = bitsPerCell(geometry);
+        int perWord = 64 / bits;
+        long[] words = new long[(geometry.cellCount + perWord - 1) / perWord];
+        for (int cell = 0; cell < geometry.cellCount; cell++) {
+            words[cell / perWord] |= (long) board.getCellValue(cell) << (cell % perWord * bits);
+        }
+        return words;
+    }
+
+    /**
+     * Extrai o valor de uma célula dos longs empacotados
+     */
+    private static int unpack(long[] words, int cell, int bits) {
+        int perWord = 64 / bits;
+        return (int) (words[cell / perWord] >>> (cell % perWord * bits)) & ((1 << bits) - 1);
+    }
+
+    /**
+     * Bits necessários para o maior valor de célula do tamanho
+     */
+    private static int bitsPerCell(SudokuGeometry geometry) {
+        return 32 - Integer.numberOfLeadingZeros(geometry.size);
+    }
+}
@@ -0,0 +1,26 @@
+package sudoku;
+
+/**
+ * Motores de resolução disponíveis para o SudokuSolver
+ * 
+ * O motor padrão pode ser escolhido pela propriedade de sistema
+ * "sudoku.solver" (por exemplo, -Dsudoku.solver=backtracking).
+ */
+enum SolverEngine {
+    BACKTRACKING, // Backtracking simples original, mantido para comparação
+    BITMASK, // Máscaras de bits com MRV e propagação de singles
+    DLX; // Dancing Links (cobertura exata), usado na verificação de unicidade
+
+    /**
+     * Obtém o motor configurado pela propriedade "sudoku.solver"
+     * 
+     * @return o motor configurado, ou BITMASK se a propriedade não existir
+     */
+    public static SolverEngine fromSystemProperty() {
+        String name = System.getProperty("sudoku.solver");
+        if (name == null || name.isEmpty()) {
+            return BITMASK;
+        }
+        return valueOf(name.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,50 @@
+package sudoku;
+
+/**
+ * Coletor de métricas da busca dos solucionadores
+ *
+ * Os motores chamam estes métodos nos pontos importantes da busca. Todos têm
+ * implementação vazia por padrão. Quando recebem NONE, os motores guardam null
+ * e testam antes de cada chamada, de modo que, com as métricas desligadas, a
+ * busca paga apenas um desvio sempre previsto pelo processador. Para
+ * registrar as métricas de uma resolução, use SolverStats.
+ */
+interface SolverMetrics {
+    /**
+     * Coletor que descarta tudo (métricas desligadas)
+     */
+    SolverMetrics NONE = new SolverMetrics() {
+    };
+
+    /**
+     * Chamado quando uma resolução ou contagem começa
+     */
+    default void started() {
+    }
+
+    /**
+     * Chamado quando uma resolução ou contagem termina
+     */
+    default void finished() {
+    }
+
+    /**
+     * Chamado a cada nó visitado da árvore de busca
+     *
+     * @param depth profundidade do nó (0 = raiz)
+     */
+    default void nodeVisited(int depth) {
+    }
+
+    /**
+     * Chamado a cada candidato testado em uma ramificação
+     */
+    default void candidateTried() {
+    }
+
+    /**
+     * Chamado quando um ramo termina em contradição e a busca volta atrás
+     */
+    default void backtracked() {
+    }
+}
@@ -0,0 +1,102 @@
+package sudoku;
+
+/**
+ * Métricas de uma resolução: nós visitados, retrocessos, profundidade máxima,
+ * candidatos testados e tempo de relógio
+ *
+ * Não é thread-safe: cada thread deve usar sua própria instância. Pode ser
+ * reaproveitada entre resoluções, já que started() zera os contadores. Para
+ * agregar várias resoluções, use SolverStatsHistogram.
+ */
+class SolverStats implements SolverMetrics {
+    private long nodes;
+    private long backtracks;
+    private long candidates;
+    private int maxDepth;
+    private long startNanos;
+    private long elapsedNanos;
+
+    @Override
+    public void started() {
+        nodes = 0;
+        backtracks = 0;
+        candidates = 0;
+        maxDepth = 0;
+        elapsedNanos = 0;
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void finished() {
+        elapsedNanos = System.nanoTime() - startNanos;
+    }
+
+    @Override
+    public void nodeVisited(int depth) {
+        nodes++;
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+    }
+
+    @Override
+    public void candidateTried() {
+        candidates++;
+    }
+
+    @Override
+    public void backtracked() {
+        backtracks++;
+    }
+
+    /**
+     * Obtém a quantidade de nós visitados
+     *
+     * @return nós visitados na árvore de busca
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Obtém a quantidade de retrocessos
+     *
+     * @return ramos que terminaram em contradição
+     */
+    public long getBacktracks() {
+        return backtracks;
+    }
+
+    /**
+     * Obtém a quantidade de candidatos testados
+     *
+     * @return candidatos testados nas ramificações
+     */
+    public long getCandidatesTried() {
+        return candidates;
+    }
+
+    /**
+     * Obtém a profundidade máxima da busca
+     *
+     * @return a maior profundidade atingida
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Obtém o tempo de relógio da última resolução
+     *
+     * @return o tempo em nanossegundos
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("nós=%d retrocessos=%d candidatos=%d profundidade=%d tempo=%.3f ms",
+                nodes, backtracks, candidates, maxDepth, elapsedNanos / 1e6);
+    }
+}
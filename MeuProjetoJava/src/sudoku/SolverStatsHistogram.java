@@ -0,0 +1,117 @@
+package sudoku;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogramas agregados das métricas de muitas resoluções
+ *
+ * Nós visitados e tempo de relógio são agrupados em faixas de potência de 2,
+ * o que mantém o histograma com tamanho fixo e permite estimar percentis.
+ * Pode ser alimentado por várias threads ao mesmo tempo.
+ */
+class SolverStatsHistogram {
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray nodeBuckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray timeBuckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNodes = new LongAdder();
+    private final LongAdder totalBacktracks = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNodes = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Registra as métricas de uma resolução
+     *
+     * @param stats as métricas da resolução que acabou de terminar
+     */
+    public void record(SolverStats stats) {
+        count.increment();
+        totalNodes.add(stats.getNodes());
+        totalBacktracks.add(stats.getBacktracks());
+        totalNanos.add(stats.getElapsedNanos());
+        maxNodes.accumulate(stats.getNodes());
+        maxNanos.accumulate(stats.getElapsedNanos());
+        maxDepth.accumulate(stats.getMaxDepth());
+        nodeBuckets.incrementAndGet(bucket(stats.getNodes()));
+        timeBuckets.incrementAndGet(bucket(stats.getElapsedNanos()));
+    }
+
+    /**
+     * @return a quantidade de resoluções registradas
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Estima um percentil da quantidade de nós visitados
+     *
+     * @param percentile percentil desejado (0-100)
+     * @return o limite superior da faixa que contém o percentil (limitado ao
+     *         máximo observado)
+     */
+    public long nodesPercentile(double percentile) {
+        return Math.min(percentile(nodeBuckets, percentile), maxNodes.get());
+    }
+
+    /**
+     * Estima um percentil do tempo de relógio
+     *
+     * @param percentile percentil desejado (0-100)
+     * @return o limite superior, em nanossegundos, da faixa que contém o
+     *         percentil (limitado ao máximo observado)
+     */
+    public long nanosPercentile(double percentile) {
+        return Math.min(percentile(timeBuckets, percentile), maxNanos.get());
+    }
+
+    /**
+     * Resumo legível das métricas agregadas
+     *
+     * @return o resumo em uma linha por métrica
+     */
+    public String summary() {
+        long n = Math.max(1, count.sum());
+        return String.format(
+                "resoluções=%d%n"
+                        + "nós: média=%.1f p50<=%d p99<=%d máx=%d%n"
+                        + "retrocessos: média=%.1f%n"
+                        + "tempo (us): média=%.1f p50<=%.1f p99<=%.1f máx=%.1f%n"
+                        + "profundidade máxima=%d",
+                count.sum(),
+                (double) totalNodes.sum() / n, nodesPercentile(50), nodesPercentile(99), maxNodes.get(),
+                (double) totalBacktracks.sum() / n,
+                totalNanos.sum() / 1e3 / n, nanosPercentile(50) / 1e3, nanosPercentile(99) / 1e3,
+                maxNanos.get() / 1e3,
+                maxDepth.get());
+    }
+
+    /**
+     * Faixa de um valor: 0 para 0, senão 1 + posição do bit mais alto
+     */
+    private static int bucket(long value) {
+        return value <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value));
+    }
+
+    private long percentile(AtomicLongArray buckets, double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += buckets.get(i);
+        }
+
+        long target = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= target && seen > 0) {
+                return i == 0 ? 0 : (1L << i) - 1;
+            }
+        }
+        return 0;
+    }
+}
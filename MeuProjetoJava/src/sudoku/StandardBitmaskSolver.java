@@ -0,0 +1,196 @@
+package sudoku;
+
+/**
+ * Motor de máscaras de bits especializado no tabuleiro 9x9
+ *
+ * A busca é a mesma de BitmaskSolver. Os métodos executados a cada nó
+ * (propagação, candidatos, atribuição e desfazer) são redefinidos aqui com as
+ * tabelas da geometria 9x9 em campos estáticos e os limites dos laços
+ * constantes, o que permite ao JIT eliminar as verificações de limite dos
+ * arrays e desenrolar os laços. No motor genérico esses valores ficam em
+ * campos de instância e o 9x9 ficava mais lento do que antes do suporte a
+ * outros tamanhos.
+ *
+ * Qualquer mudança nesses métodos precisa ser feita também em BitmaskSolver;
+ * StandardBitmaskSolverTest compara as respostas dos dois motores.
+ */
+final class StandardBitmaskSolver extends BitmaskSolver {
+    static final int BOX_SIZE = 3;
+
+    private static final SudokuGeometry GEOMETRY = SudokuGeometry.of(BOX_SIZE);
+    private static final int SIZE = 9;
+    private static final int ALL_DIGITS = 0x1FF; // 9 bits ligados (dígitos 1-9)
+    private static final int EMPTY_WORDS = 2; // longs para as 81 células
+    private static final int[] ROW_OF = GEOMETRY.rowOf;
+    private static final int[] COL_OF = GEOMETRY.colOf;
+    private static final int[] BOX_OF = GEOMETRY.boxOf;
+    private static final int[][] UNITS = GEOMETRY.units;
+
+    /**
+     * Cria um motor para o tabuleiro 9x9
+     */
+    StandardBitmaskSolver() {
+        super(BOX_SIZE);
+    }
+
+    /**
+     * Aplica singles nus e ocultos até não haver mais progresso
+     *
+     * @return a célula vazia com menos candidatos, SOLVED se o tabuleiro foi
+     *         completado ou CONTRADICTION se algum candidato se esgotou
+     */
+    @Override
+    int propagate() {
+        while (true) {
+            if (emptyCount == 0) {
+                return SOLVED;
+            }
+
+            boolean progress = false;
+            int best = SOLVED;
+            int bestCount = SIZE + 1;
+
+            // Singles nus: células com um único candidato. Só as células vazias
+            // são percorridas, em ordem crescente, pelos bits de emptyCells
+            for (int word = 0; word < EMPTY_WORDS; word++) {
+                for (long bits = emptyCells[word]; bits != 0; bits &= bits - 1) {
+                    int cell = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    int candidates = candidates(cell);
+                    if (candidates == 0) {
+                        return CONTRADICTION;
+                    }
+
+                    if ((candidates & (candidates - 1)) == 0) {
+                        assign(cell, Integer.numberOfTrailingZeros(candidates) + 1);
+                        progress = true;
+                    } else if (!progress) {
+                        int count = Integer.bitCount(candidates);
+                        if (count < bestCount) {
+                            bestCount = count;
+                            best = cell;
+                        }
+                    }
+                }
+            }
+
+            if (progress) {
+                continue;
+            }
+
+            // Singles ocultos: dígitos com um único lugar possível na unidade
+            for (int unit = 0; unit < UNITS.length; unit++) {
+                int[] cells = UNITS[unit];
+                int once = 0;
+                int twice = 0;
+                int placed = 0;
+
+                for (int i = 0; i < SIZE; i++) {
+                    int cell = cells[i];
+                    if (grid[cell] != 0) {
+                        placed |= 1 << (grid[cell] - 1);
+                    } else {
+                        int candidates = candidates(cell);
+                        twice |= once & candidates;
+                        once |= candidates;
+                    }
+                }
+
+                // Algum dígito não tem mais onde ser colocado nesta unidade
+                if ((once | placed) != ALL_DIGITS) {
+                    return CONTRADICTION;
+                }
+
+                int hidden = once & ~twice;
+                while (hidden != 0) {
+                    int bit = hidden & -hidden;
+                    hidden ^= bit;
+
+                    int target = -1;
+                    for (int i = 0; i < SIZE; i++) {
+                        int cell = cells[i];
+                        if (grid[cell] == 0 && (candidates(cell) & bit) != 0) {
+                            target = cell;
+                            break;
+                        }
+                    }
+
+                    // Uma atribuição anterior nesta unidade ocupou o único lugar
+                    if (target < 0) {
+                        return CONTRADICTION;
+                    }
+
+                    assign(target, Integer.numberOfTrailingZeros(bit) + 1);
+                    progress = true;
+                }
+            }
+
+            if (!progress) {
+                return best;
+            }
+        }
+    }
+
+    /**
+     * Calcula os candidatos de uma célula como máscara de bits
+     *
+     * @param cell índice da célula (0-80 no tabuleiro 9x9)
+     * @return máscara com o bit (d - 1) ligado para cada dígito d possível
+     */
+    @Override
+    int candidates(int cell) {
+        return ~(rowUsed[ROW_OF[cell]] | colUsed[COL_OF[cell]] | boxUsed[BOX_OF[cell]]) & ALL_DIGITS;
+    }
+
+    /**
+     * Preenche uma célula e atualiza as máscaras
+     *
+     * @param cell  índice da célula (0-80 no tabuleiro 9x9)
+     * @param value valor a ser definido (1-9 no tabuleiro 9x9)
+     */
+    @Override
+    void assign(int cell, int value) {
+        int bit = 1 << (value - 1);
+        grid[cell] = value;
+        rowUsed[ROW_OF[cell]] |= bit;
+        colUsed[COL_OF[cell]] |= bit;
+        boxUsed[BOX_OF[cell]] |= bit;
+        trail[trailSize++] = cell;
+        emptyCells[cell >>> 6] &= ~(1L << cell);
+        emptyCount--;
+    }
+
+    /**
+     * Esvazia uma célula preenchida fora da pilha (uma pista)
+     *
+     * @param cell índice da célula
+     */
+    @Override
+    void unassignGiven(int cell) {
+        int bit = ~(1 << (grid[cell] - 1));
+        grid[cell] = 0;
+        rowUsed[ROW_OF[cell]] &= bit;
+        colUsed[COL_OF[cell]] &= bit;
+        boxUsed[BOX_OF[cell]] &= bit;
+        emptyCells[cell >>> 6] |= 1L << cell;
+        emptyCount++;
+    }
+
+    /**
+     * Desfaz as atribuições feitas após a marca informada
+     *
+     * @param mark tamanho da pilha a ser restaurado
+     */
+    @Override
+    void undo(int mark) {
+        while (trailSize > mark) {
+            int cell = trail[--trailSize];
+            int bit = ~(1 << (grid[cell] - 1));
+            grid[cell] = 0;
+            rowUsed[ROW_OF[cell]] &= bit;
+            colUsed[COL_OF[cell]] &= bit;
+            boxUsed[BOX_OF[cell]] &= bit;
+            emptyCells[cell >>> 6] |= 1L << cell;
+            emptyCount++;
+        }
+    }
+}
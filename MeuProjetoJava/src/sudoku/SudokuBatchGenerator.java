@@ -0,0 +1,258 @@
+package sudoku;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Serviço de geração de puzzles de Sudoku em lote
+ *
+ * Distribui a geração de N puzzles entre várias threads de trabalho. Cada
+ * thread tem seu próprio SudokuGenerator (e portanto seu próprio solucionador)
+ * e um SplittableRandom obtido por split(), de modo que nenhuma estrutura com
+ * estado é compartilhada. Os puzzles são entregues à medida que ficam prontos,
+ * sem ordem definida.
+ *
+ * Com um FingerprintSet, cada puzzle gerado é reduzido à forma canônica e
+ * descartado se for equivalente, por simetria, a um já visto; a geração se
+ * repete até completar o lote com puzzles distintos. O conjunto pode ser
+ * reaproveitado entre lotes para evitar repetições entre eles. A forma
+ * canônica custa algumas dezenas de microssegundos por puzzle (veja
+ * CanonicalizerBenchmark), da ordem do tempo de gerar um puzzle com 45
+ * células vazias.
+ */
+class SudokuBatchGenerator implements AutoCloseable {
+    private final ExecutorService executor;
+    private final int workers;
+    private final SplittableRandom seedSource;
+    private final FingerprintSet seen;
+    private final AtomicLong duplicates = new AtomicLong();
+
+    /**
+     * Construtor da classe SudokuBatchGenerator
+     * Usa uma thread de trabalho por processador disponível
+     */
+    public SudokuBatchGenerator() {
+        this(Runtime.getRuntime().availableProcessors(), new SplittableRandom());
+    }
+
+    /**
+     * Construtor da classe SudokuBatchGenerator
+     *
+     * @param workers número de threads de trabalho
+     * @param seed    fonte aleatória de onde saem os randoms de cada thread
+     *                (use uma semente fixa para lotes reproduzíveis por thread)
+     */
+    public SudokuBatchGenerator(int workers, SplittableRandom seed) {
+        this(workers, seed, null);
+    }
+
+    /**
+     * Construtor da classe SudokuBatchGenerator
+     *
+     * @param workers número de threads de trabalho
+     * @param seed    fonte aleatória de onde saem os randoms de cada thread
+     * @param seen    impressões digitais já vistas, usadas para descartar
+     *                duplicatas (null para não descartar)
+     */
+    public SudokuBatchGenerator(int workers, SplittableRandom seed, FingerprintSet seen) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers deve ser maior que zero: " + workers);
+        }
+
+        this.workers = workers;
+        this.seedSource = seed;
+        this.seen = seen;
+
+        // Threads de plataforma: a geração é limitada por CPU, não por E/S
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(workers, task -> {
+            Thread thread = new Thread(task, "sudoku-batch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gera um lote de puzzles e entrega cada um ao consumidor assim que fica
+     * pronto. Bloqueia até que todo o lote tenha sido gerado.
+     *
+     * @param count      quantidade de puzzles
+     * @param emptyCells número de células vazias em cada puzzle
+     * @param sink       consumidor dos puzzles; é chamado pelas threads de
+     *                   trabalho e por isso precisa ser thread-safe
+     */
+    public void generate(int count, int emptyCells, Consumer<SudokuBoard> sink) {
+        List<Future<?>> futures = submit(count, emptyCells, sink, new AtomicReference<>());
+
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Geração em lote interrompida", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Falha na geração em lote", e.getCause());
+        }
+    }
+
+    /**
+     * Gera um lote de puzzles como um stream, na ordem em que ficam prontos
+     *
+     * A geração começa imediatamente e é limitada por uma fila: se o stream
+     * não for consumido, as threads de trabalho esperam. Fechar o stream
+     * cancela o que ainda não foi gerado.
+     *
+     * @param count      quantidade de puzzles
+     * @param emptyCells número de células vazias em cada puzzle
+     * @return um stream sequencial com count puzzles
+     */
+    public Stream<SudokuBoard> stream(int count, int emptyCells) {
+        BlockingQueue<SudokuBoard> queue = new ArrayBlockingQueue<>(workers * 64);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        List<Future<?>> futures = submit(count, emptyCells, board -> {
+            try {
+                queue.put(board);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Geração em lote cancelada", e);
+            }
+        }, failure);
+
+        Iterator<SudokuBoard> iterator = new Iterator<SudokuBoard>() {
+            private int delivered;
+
+            @Override
+            public boolean hasNext() {
+                return delivered < count;
+            }
+
+            @Override
+            public SudokuBoard next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                // Espera o próximo puzzle, verificando periodicamente se
+                // alguma thread de trabalho falhou
+                SudokuBoard board = null;
+                try {
+                    while (board == null) {
+                        if (failure.get() != null) {
+                            throw new IllegalStateException("Falha na geração em lote", failure.get());
+                        }
+                        board = queue.poll(100, TimeUnit.MILLISECONDS);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Leitura do lote interrompida", e);
+                }
+
+                delivered++;
+                return board;
+            }
+        };
+
+        // Sem SIZED: count() e afins precisam consumir os puzzles de fato
+        Spliterator<SudokuBoard> spliterator = Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> futures.forEach(future -> future.cancel(true)));
+    }
+
+    /**
+     * Obtém a quantidade de puzzles descartados por serem duplicatas
+     *
+     * @return descartes desde a criação do gerador
+     */
+    public long getDuplicatesRejected() {
+        return duplicates.get();
+    }
+
+    /**
+     * Encerra as threads de trabalho
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Submete uma tarefa por thread de trabalho; as tarefas dividem o lote
+     * por meio de um contador compartilhado
+     *
+     * @param count      quantidade de puzzles
+     * @param emptyCells número de células vazias em cada puzzle
+     * @param sink       consumidor dos puzzles prontos
+     * @param failure    recebe a primeira falha de qualquer thread de trabalho
+     * @return as tarefas submetidas
+     */
+    private List<Future<?>> submit(int count, int emptyCells, Consumer<SudokuBoard> sink,
+            AtomicReference<Throwable> failure) {
+        AtomicInteger remaining = new AtomicInteger(count);
+        List<Future<?>> futures = new ArrayList<>(workers);
+
+        for (int i = 0; i < workers; i++) {
+            // O split é feito aqui, na thread chamadora, para ser determinístico
+            SplittableRandom random;
+            synchronized (seedSource) {
+                random = seedSource.split();
+            }
+
+            futures.add(executor.submit(() -> {
+                try {
+                    SudokuGenerator generator = new SudokuGenerator(random);
+                    SudokuCanonicalizer canonicalizer = seen == null ? null : new SudokuCanonicalizer();
+                    long[] fingerprint = new long[2];
+                    while (remaining.getAndDecrement() > 0 && !Thread.currentThread().isInterrupted()) {
+                        SudokuBoard board = new SudokuBoard();
+                        generator.generatePuzzle(board, emptyCells);
+
+                        // Só um puzzle inédito chega ao sink; uma interrupção
+                        // enquanto a duplicata é trocada encerra a tarefa sem
+                        // entregá-la
+                        while (canonicalizer != null) {
+                            canonicalizer.fingerprint(board, fingerprint);
+                            if (seen.add(fingerprint[0], fingerprint[1])) {
+                                break;
+                            }
+                            duplicates.incrementAndGet();
+                            if (Thread.currentThread().isInterrupted()) {
+                                return;
+                            }
+                            board = new SudokuBoard();
+                            generator.generatePuzzle(board, emptyCells);
+                        }
+                        sink.accept(board);
+                    }
+                } catch (RuntimeException | Error e) {
+                    failure.compareAndSet(null, e);
+                    throw e;
+                }
+            }));
+        }
+
+        return futures;
+    }
+}
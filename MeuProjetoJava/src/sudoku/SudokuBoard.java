@@ -0,0 +1,359 @@
+package sudoku;
+
+import java.util.Arrays;
+
+/**
+ * Classe que representa o tabuleiro do jogo de Sudoku
+ * 
+ * Contém o estado atual do jogo, as células editáveis e os métodos para
+ * verificar movimentos válidos e exibir o tabuleiro.
+ * 
+ * O tabuleiro padrão é 9x9, mas qualquer tamanho descrito por SudokuGeometry
+ * (4x4, 9x9, 16x16 ou 25x25) é aceito. Os valores ficam em um único array de
+ * bytes em ordem de linha e as células do puzzle original em uma máscara de
+ * bits (um long para cada 64 células). Contadores de cada dígito por linha,
+ * coluna e quadrante, as máscaras de ocupação derivadas deles, o total de
+ * células preenchidas e o total de repetições são atualizados em O(1) a cada
+ * setCellValue, inclusive ao apagar ou sobrescrever uma célula. Assim
+ * isValidMove, isFull, isSolved e as consultas de conflito não precisam
+ * percorrer o tabuleiro.
+ */
+class SudokuBoard {
+    private final SudokuGeometry geometry; // Tabelas do tamanho do tabuleiro
+    private byte[] cells; // Valores das células em ordem de linha (0 = vazia)
+    private int[] used; // Dígitos presentes: linhas, colunas e quadrantes
+    private byte[] counts; // Ocorrências de cada dígito em cada unidade
+    private long[] given; // Células que não podem ser editadas
+    private int filledCount; // Quantidade de células preenchidas
+    private int conflictCount; // Ocorrências além da primeira, somadas por unidade
+
+    /**
+     * Construtor da classe SudokuBoard
+     * Inicializa o tabuleiro 9x9 vazio e define todas as células como editáveis
+     */
+    public SudokuBoard() {
+        this(3);
+    }
+
+    /**
+     * Cria um tabuleiro vazio com quadrantes de boxSize x boxSize
+     * 
+     * @param boxSize lado do quadrante (2 a 5); o tabuleiro tem boxSize² linhas
+     * @throws IllegalArgumentException se o tamanho não for suportado
+     */
+    public SudokuBoard(int boxSize) {
+        this(SudokuGeometry.of(boxSize));
+    }
+
+    private SudokuBoard(SudokuGeometry geometry) {
+        this(geometry, new byte[geometry.cellCount], new int[3 * geometry.size],
+                new byte[3 * geometry.size * geometry.size], new long[(geometry.cellCount + 63) >>> 6]);
+    }
+
+    /**
+     * Construtor usado por copy(), que reaproveita os arrays já clonados
+     * 
+     * @param geometry tabelas do tamanho do tabuleiro
+     * @param cells    valores das células
+     * @param used     máscaras de ocupação correspondentes
+     * @param counts   contadores de dígitos por unidade correspondentes
+     * @param given    máscara das células do puzzle original
+     */
+    private SudokuBoard(SudokuGeometry geometry, byte[] cells, int[] used, byte[] counts, long[] given) {
+        this.geometry = geometry;
+        this.cells = cells;
+        this.used = used;
+        this.counts = counts;
+        this.given = given;
+    }
+
+    /**
+     * Obtém o lado de um quadrante
+     * 
+     * @return 3 para o tabuleiro 9x9
+     */
+    public int getBoxSize() {
+        return geometry.boxSize;
+    }
+
+    /**
+     * Obtém a quantidade de linhas (e de colunas e de dígitos) do tabuleiro
+     * 
+     * @return 9 para o tabuleiro 9x9
+     */
+    public int getSize() {
+        return geometry.size;
+    }
+
+    /**
+     * Obtém as tabelas de linha, coluna, quadrante e unidades deste tamanho
+     * 
+     * @return a geometria compartilhada do tabuleiro
+     */
+    SudokuGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Obtém o valor de uma célula específica
+     * 
+     * @param row linha da célula (0 a tamanho - 1)
+     * @param col coluna da célula (0 a tamanho - 1)
+     * @return valor atual da célula
+     */
+    public int getCellValue(int row, int col) {
+        return cells[row * geometry.size + col];
+    }
+
+    /**
+     * Obtém o valor de uma célula pelo índice em ordem de linha
+     * 
+     * @param cell índice da célula (0 a tamanho² - 1)
+     * @return valor atual da célula
+     */
+    int getCellValue(int cell) {
+        return cells[cell];
+    }
+
+    /**
+     * Define o valor de uma célula específica
+     * Atualiza os contadores por unidade, as máscaras de ocupação e o
+     * contador de células preenchidas
+     * 
+     * @param row   linha da célula (0 a tamanho - 1)
+     * @param col   coluna da célula (0 a tamanho - 1)
+     * @param value valor a ser definido (1 a tamanho), ou 0 para esvaziar a célula
+     */
+    public void setCellValue(int row, int col, int value) {
+        setCellValue(row * geometry.size + col, value);
+    }
+
+    /**
+     * Define o valor de uma célula pelo índice em ordem de linha
+     * 
+     * @param cell  índice da célula (0 a tamanho² - 1)
+     * @param value valor a ser definido, ou 0 para esvaziar a célula
+     */
+    void setCellValue(int cell, int value) {
+        int[] units = geometry.unitsOf[cell];
+        int old = cells[cell];
+
+        // Remove o valor antigo; a máscara só perde o dígito quando a última
+        // ocorrência da unidade sai
+        if (old != 0) {
+            removeDigit(units[0], old);
+            removeDigit(units[1], old);
+            removeDigit(units[2], old);
+            filledCount--;
+        }
+
+        // Registra o novo valor
+        if (value != 0) {
+            addDigit(units[0], value);
+            addDigit(units[1], value);
+            addDigit(units[2], value);
+            filledCount++;
+        }
+
+        cells[cell] = (byte) value;
+    }
+
+    /**
+     * Conta uma ocorrência do dígito na unidade
+     */
+    private void addDigit(int unit, int digit) {
+        if (counts[unit * geometry.size + digit - 1]++ == 0) {
+            used[unit] |= 1 << (digit - 1);
+        } else {
+            conflictCount++;
+        }
+    }
+
+    /**
+     * Desconta uma ocorrência do dígito na unidade
+     */
+    private void removeDigit(int unit, int digit) {
+        if (--counts[unit * geometry.size + digit - 1] == 0) {
+            used[unit] &= ~(1 << (digit - 1));
+        } else {
+            conflictCount--;
+        }
+    }
+
+    /**
+     * Carrega um puzzle inteiro em uma única passada
+     * As células preenchidas viram pistas bloqueadas para edição e as vazias
+     * ficam editáveis; as máscaras e o contador são recalculados
+     * 
+     * @param values valores das células em ordem de linha (0 = vazia)
+     */
+    void loadPuzzle(byte[] values) {
+        Arrays.fill(used, 0);
+        Arrays.fill(counts, (byte) 0);
+        Arrays.fill(given, 0L);
+        filledCount = 0;
+        conflictCount = 0;
+
+        for (int cell = 0; cell < values.length; cell++) {
+            int value = values[cell];
+            cells[cell] = (byte) value;
+            if (value != 0) {
+                int[] units = geometry.unitsOf[cell];
+                addDigit(units[0], value);
+                addDigit(units[1], value);
+                addDigit(units[2], value);
+                given[cell >>> 6] |= 1L << cell;
+                filledCount++;
+            }
+        }
+    }
+
+    /**
+     * Verifica se uma célula específica pode ser editada
+     * 
+     * @param row linha da célula (0 a tamanho - 1)
+     * @param col coluna da célula (0 a tamanho - 1)
+     * @return true se a célula for editável, false caso contrário
+     */
+    public boolean isCellEditable(int row, int col) {
+        int cell = row * geometry.size + col;
+        return (given[cell >>> 6] & (1L << cell)) == 0;
+    }
+
+    /**
+     * Define se uma célula específica pode ser editada
+     * 
+     * @param row      linha da célula (0 a tamanho - 1)
+     * @param col      coluna da célula (0 a tamanho - 1)
+     * @param editable true para tornar a célula editável, false caso contrário
+     */
+    public void setCellEditable(int row, int col, boolean editable) {
+        int cell = row * geometry.size + col;
+        if (editable) {
+            given[cell >>> 6] &= ~(1L << cell);
+        } else {
+            given[cell >>> 6] |= 1L << cell;
+        }
+    }
+
+    /**
+     * Verifica se o tabuleiro está completamente preenchido
+     * 
+     * @return true se todas as células estiverem preenchidas, false caso contrário
+     */
+    public boolean isFull() {
+        return filledCount == geometry.cellCount;
+    }
+
+    /**
+     * Verifica se o tabuleiro está resolvido: completo e sem nenhum dígito
+     * repetido em linha, coluna ou quadrante
+     * 
+     * @return true se o tabuleiro for uma solução válida
+     */
+    public boolean isSolved() {
+        return filledCount == geometry.cellCount && conflictCount == 0;
+    }
+
+    /**
+     * Obtém a quantidade de células preenchidas
+     * 
+     * @return células com valor diferente de zero
+     */
+    public int getFilledCount() {
+        return filledCount;
+    }
+
+    /**
+     * Verifica se algum dígito está repetido em alguma unidade
+     * 
+     * @return true se houver pelo menos um conflito
+     */
+    public boolean hasConflicts() {
+        return conflictCount != 0;
+    }
+
+    /**
+     * Obtém a quantidade de repetições no tabuleiro
+     * Cada unidade com k ocorrências de um dígito contribui com k - 1
+     * 
+     * @return zero se nenhum dígito estiver repetido
+     */
+    public int getConflictCount() {
+        return conflictCount;
+    }
+
+    /**
+     * Verifica se o valor de uma célula se repete na linha, na coluna ou no
+     * quadrante
+     * 
+     * @param row linha da célula (0 a tamanho - 1)
+     * @param col coluna da célula (0 a tamanho - 1)
+     * @return true se a célula estiver preenchida e em conflito
+     */
+    public boolean isInConflict(int row, int col) {
+        int cell = row * geometry.size + col;
+        int value = cells[cell];
+        if (value == 0) {
+            return false;
+        }
+
+        int[] units = geometry.unitsOf[cell];
+        int size = geometry.size;
+        return counts[units[0] * size + value - 1] > 1 || counts[units[1] * size + value - 1] > 1
+                || counts[units[2] * size + value - 1] > 1;
+    }
+
+    /**
+     * Verifica se um movimento específico é válido de acordo com as regras do
+     * Sudoku
+     * 
+     * @param row   linha da célula (0 a tamanho - 1)
+     * @param col   coluna da célula (0 a tamanho - 1)
+     * @param value valor a ser verificado (1 a tamanho)
+     * @return true se o movimento for válido, false caso contrário
+     */
+    public boolean isValidMove(int row, int col, int value) {
+        // O valor não pode aparecer na linha, na coluna nem no quadrante
+        int size = geometry.size;
+        int cell = row * size + col;
+        int mask = used[row] | used[size + col] | used[2 * size + geometry.boxOf[cell]];
+        if ((mask & (1 << (value - 1))) == 0) {
+            return true;
+        }
+
+        // Reescrever o mesmo valor só é válido se a própria célula for a única
+        // ocorrência nas três unidades
+        if (cells[cell] != value) {
+            return false;
+        }
+        int[] units = geometry.unitsOf[cell];
+        return counts[units[0] * size + value - 1] == 1 && counts[units[1] * size + value - 1] == 1
+                && counts[units[2] * size + value - 1] == 1;
+    }
+
+    /**
+     * Exibe o tabuleiro atual no console
+     * Formata o tabuleiro para facilitar a visualização; valores acima de 9
+     * aparecem como letras (A = 10, B = 11, ...). O quadro é montado por
+     * BoardRenderer e enviado em uma única escrita
+     */
+    public void display() {
+        BoardRenderer renderer = BoardRenderer.of(geometry);
+        byte[] frame = new byte[renderer.frameSize()];
+        System.out.write(frame, 0, renderer.render(this, frame, 0));
+        System.out.flush();
+    }
+
+    /**
+     * Cria uma cópia do tabuleiro atual
+     * 
+     * @return uma nova instância de SudokuBoard com os mesmos valores
+     */
+    public SudokuBoard copy() {
+        SudokuBoard copy = new SudokuBoard(geometry, cells.clone(), used.clone(), counts.clone(), given.clone());
+        copy.filledCount = filledCount;
+        copy.conflictCount = conflictCount;
+        return copy;
+    }
+}
@@ -0,0 +1,466 @@
+package sudoku;
+
+/**
+ * Forma canônica de puzzles 9x9 sob o grupo de simetrias do Sudoku
+ *
+ * Dois puzzles são equivalentes se um se transforma no outro por troca de
+ * rótulos dos dígitos, permutação de linhas dentro de uma faixa, permutação
+ * das faixas, as mesmas operações nas colunas e transposição. A forma canônica
+ * é, entre todas as transformações, a de menor padrão de pistas (as 81
+ * células em ordem de linha, vazia antes de preenchida) e, entre as de mesmo
+ * padrão, a menor sequência de dígitos, com os dígitos renomeados na ordem em
+ * que aparecem (o primeiro dígito encontrado vira 1, o segundo 2, e assim por
+ * diante) e as células vazias como 0. Puzzles equivalentes têm a mesma forma
+ * canônica.
+ *
+ * O padrão não depende dos rótulos e é calculado com máscaras de 9 bits por
+ * linha. Sua primeira linha é a menor máscara que alguma linha alcança, o que
+ * só depende de quantas pistas a linha tem em cada pilha; por isso só as
+ * combinações de transposição e permutação de colunas que levam alguma linha
+ * a essa máscara são avaliadas, em geral algumas dezenas das 2 x 1296. Nas
+ * que empatam no menor padrão, as linhas são escolhidas de forma gulosa: em
+ * cada posição só as linhas com o padrão certo e o menor conteúdo são
+ * exploradas, e a combinação é abandonada assim que seu prefixo fica maior
+ * que o melhor já encontrado. Um puzzle de 36 pistas leva algumas dezenas de
+ * microssegundos; tabuleiros quase vazios, com muitas simetrias, levam mais.
+ * A impressão digital de 128 bits da forma canônica serve para detectar
+ * duplicatas em um FingerprintSet.
+ *
+ * Todos os buffers são alocados no construtor. Cada instância guarda estado e
+ * não deve ser compartilhada entre threads.
+ */
+class SudokuCanonicalizer {
+    // As 1296 permutações de colunas que preservam os quadrantes: ordem das
+    // pilhas (3!) vezes a ordem das colunas dentro de cada pilha (3!^3)
+    // pilhas (3!) vezes a ordem das colunas dentro de cada pilha (3!^3), com
+    // índice ((pilhas * 6 + primeira) * 6 + segunda) * 6 + terceira
+    private static final int[][] COLUMN_PERMUTATIONS = new int[1296][9];
+
+    // As 6 ordens de 3 elementos
+    private static final int[][] ORDERS = { { 0, 1, 2 }, { 0, 2, 1 }, { 1, 0, 2 }, { 1, 2, 0 }, { 2, 0, 1 },
+            { 2, 1, 0 } };
+
+    // Máscara de 3 bits de uma pilha depois de cada ordem das suas colunas
+    // (bit 2 = primeira coluna)
+    private static final int[][] STACK_MASKS = new int[6][8];
+
+    static {
+        int index = 0;
+        for (int[] stacks : ORDERS) {
+            for (int[] first : ORDERS) {
+                for (int[] second : ORDERS) {
+                    for (int[] third : ORDERS) {
+                        int[][] within = { first, second, third };
+                        for (int s = 0; s < 3; s++) {
+                            for (int k = 0; k < 3; k++) {
+                                COLUMN_PERMUTATIONS[index][s * 3 + k] = stacks[s] * 3 + within[s][k];
+                            }
+                        }
+                        index++;
+                    }
+                }
+            }
+        }
+
+        for (int order = 0; order < 6; order++) {
+            for (int mask = 0; mask < 8; mask++) {
+                for (int k = 0; k < 3; k++) {
+                    if ((mask & (4 >> ORDERS[order][k])) != 0) {
+                        STACK_MASKS[order][mask] |= 4 >> k;
+                    }
+                }
+            }
+        }
+    }
+
+    private final int[][] sources = new int[2][81]; // Puzzle original e transposto
+    private final int[][][] stackMasks = new int[2][9][3]; // Pistas de cada linha por pilha
+    private final int[][] minimumMasks = new int[2][9]; // Menor máscara de cada linha
+
+    // Menor padrão, uma chave de 27 bits por faixa, e as combinações que o
+    // alcançam (transposição * 1296 + permutação)
+    private final int[] bestPattern = new int[3];
+    private boolean patternValid;
+    private final int[] ties = new int[2 * 1296];
+    private int tieCount;
+
+    // Máscaras das linhas e chaves das faixas na combinação atual, e as do
+    // menor padrão
+    private final int[] rowMasks = new int[9];
+    private final int[] bandKeys = new int[3];
+    private final int[] pattern = new int[3];
+    private final int[] targetRows = new int[9];
+
+    private int[] source; // Puzzle da combinação atual
+    private int[] columns; // Permutação de colunas da combinação atual
+    private final int[] current = new int[81]; // Sequência sendo montada
+    private final int[] best = new int[81]; // Menor sequência encontrada
+    private boolean bestValid;
+
+    // Rótulos atribuídos até cada posição de linha, e os rótulos e o conteúdo
+    // de cada linha candidata naquela posição
+    private final int[][] labels = new int[10][10];
+    private final int[] nextLabel = new int[10];
+    private final int[][][] candidateLabels = new int[9][9][10];
+    private final int[][][] candidateRows = new int[9][9][9];
+    private final int[][] candidateNext = new int[9][9];
+    private final int[][] candidateSource = new int[9][9];
+
+    /**
+     * Calcula a forma canônica de um puzzle
+     *
+     * @param board o puzzle 9x9 (não é alterado)
+     * @return um tabuleiro novo com a forma canônica
+     * @throws IllegalArgumentException se o tabuleiro não for 9x9
+     */
+    public SudokuBoard canonicalForm(SudokuBoard board) {
+        canonicalize(board);
+
+        SudokuBoard canonical = new SudokuBoard();
+        for (int cell = 0; cell < 81; cell++) {
+            canonical.setCellValue(cell, best[cell]);
+        }
+        return canonical;
+    }
+
+    /**
+     * Calcula a impressão digital de 128 bits da forma canônica
+     *
+     * Puzzles equivalentes têm a mesma impressão digital; puzzles diferentes
+     * colidem com probabilidade desprezível (cerca de 2^-128 por par).
+     *
+     * @param board       o puzzle 9x9 (não é alterado)
+     * @param fingerprint destino com duas posições: bits altos e baixos
+     * @throws IllegalArgumentException se o tabuleiro não for 9x9
+     */
+    public void fingerprint(SudokuBoard board, long[] fingerprint) {
+        canonicalize(board);
+
+        // Dois encadeamentos independentes sobre os dígitos empacotados em
+        // grupos de 16 (4 bits cada)
+        long high = 0x243F6A8885A308D3L;
+        long low = 0x13198A2E03707344L;
+        for (int start = 0; start < 81; start += 16) {
+            long word = 0;
+            for (int cell = start; cell < Math.min(start + 16, 81); cell++) {
+                word = (word << 4) | best[cell];
+            }
+            high = mix(high ^ word);
+            low = mix(low + Long.rotateLeft(word, 29) * 0x9E3779B97F4A7C15L);
+        }
+
+        fingerprint[0] = high;
+        fingerprint[1] = low;
+    }
+
+    /**
+     * Preenche best com a forma canônica do puzzle
+     */
+    private void canonicalize(SudokuBoard board) {
+        if (board.getSize() != 9) {
+            throw new IllegalArgumentException("A forma canônica só existe para o tabuleiro 9x9");
+        }
+
+        for (int cell = 0; cell < 81; cell++) {
+            int value = board.getCellValue(cell);
+            sources[0][cell] = value;
+            sources[1][(cell % 9) * 9 + cell / 9] = value;
+        }
+
+        findPatternTies();
+        for (int i = 0; i < 3; i++) {
+            for (int k = 0; k < 3; k++) {
+                targetRows[i * 3 + k] = (bestPattern[i] >>> (18 - 9 * k)) & 0x1FF;
+            }
+        }
+
+        bestValid = false;
+        for (int t = 0; t < tieCount; t++) {
+            int transposed = ties[t] / 1296;
+            int permutation = ties[t] % 1296;
+            evaluate(transposed, permutation / 216, permutation / 36 % 6, permutation / 6 % 6, permutation % 6);
+            source = sources[transposed];
+            columns = COLUMN_PERMUTATIONS[permutation];
+            for (int digit = 0; digit < 10; digit++) {
+                labels[0][digit] = 0;
+            }
+            nextLabel[0] = 1;
+            search(0, 0, 0);
+        }
+    }
+
+    /**
+     * Encontra o menor padrão de pistas e as combinações de transposição e
+     * permutação de colunas que o alcançam
+     *
+     * A primeira linha do padrão é a menor máscara de linha da combinação, e
+     * a menor máscara que uma linha alcança coloca as pilhas em ordem
+     * crescente de pistas, com as pistas à direita. Só as combinações que
+     * levam alguma linha ao menor desses valores são avaliadas por completo.
+     */
+    private void findPatternTies() {
+        int minimum = Integer.MAX_VALUE;
+        for (int t = 0; t < 2; t++) {
+            for (int row = 0; row < 9; row++) {
+                int[] masks = stackMasks[t][row];
+                for (int stack = 0; stack < 3; stack++) {
+                    int mask = 0;
+                    for (int k = 0; k < 3; k++) {
+                        if (sources[t][row * 9 + stack * 3 + k] != 0) {
+                            mask |= 4 >> k;
+                        }
+                    }
+                    masks[stack] = mask;
+                }
+
+                // Pistas à direita de cada pilha (0, 1, 3 ou 7), pilhas em
+                // ordem crescente
+                minimumMasks[t][row] = sortedKey((1 << Integer.bitCount(masks[0])) - 1,
+                        (1 << Integer.bitCount(masks[1])) - 1, (1 << Integer.bitCount(masks[2])) - 1, 3);
+                minimum = Math.min(minimum, minimumMasks[t][row]);
+            }
+        }
+
+        patternValid = false;
+        tieCount = 0;
+        for (int t = 0; t < 2; t++) {
+            for (int row = 0; row < 9; row++) {
+                if (minimumMasks[t][row] != minimum) {
+                    continue;
+                }
+                int[] masks = stackMasks[t][row];
+                for (int stacks = 0; stacks < 6; stacks++) {
+                    int[] order = ORDERS[stacks];
+                    for (int first = 0; first < 6; first++) {
+                        int high = STACK_MASKS[first][masks[order[0]]] << 6;
+                        if (high != (minimum & 0x1C0)) {
+                            continue;
+                        }
+                        for (int second = 0; second < 6; second++) {
+                            int middle = high | STACK_MASKS[second][masks[order[1]]] << 3;
+                            if (middle != (minimum & 0x1F8)) {
+                                continue;
+                            }
+                            for (int third = 0; third < 6; third++) {
+                                if ((middle | STACK_MASKS[third][masks[order[2]]]) == minimum) {
+                                    consider(t, row / 3, stacks, first, second, third);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Compara o padrão de uma combinação com o menor já encontrado e registra
+     * a combinação se o alcançar
+     *
+     * A combinação é descartada logo se a faixa da linha que chegou ao menor
+     * valor tem chave maior que a primeira do melhor padrão: se a combinação
+     * for ótima, ela também é alcançada pela linha da sua primeira faixa.
+     */
+    private void consider(int transposed, int band, int stacks, int first, int second, int third) {
+        if (patternValid) {
+            int[] order = ORDERS[stacks];
+            for (int k = 0; k < 3; k++) {
+                int[] masks = stackMasks[transposed][band * 3 + k];
+                rowMasks[k] = STACK_MASKS[first][masks[order[0]]] << 6 | STACK_MASKS[second][masks[order[1]]] << 3
+                        | STACK_MASKS[third][masks[order[2]]];
+            }
+            if (sortedKey(rowMasks[0], rowMasks[1], rowMasks[2], 9) > bestPattern[0]) {
+                return;
+            }
+        }
+
+        int index = transposed * 1296 + ((stacks * 6 + first) * 6 + second) * 6 + third;
+
+        // A mesma combinação pode levar duas linhas ao menor valor
+        for (int t = 0; t < tieCount; t++) {
+            if (ties[t] == index) {
+                return;
+            }
+        }
+
+        evaluate(transposed, stacks, first, second, third);
+        int cmp = patternValid ? compare(pattern, bestPattern, 3) : -1;
+        if (cmp < 0) {
+            System.arraycopy(pattern, 0, bestPattern, 0, 3);
+            patternValid = true;
+            tieCount = 0;
+        }
+        if (cmp <= 0) {
+            ties[tieCount++] = index;
+        }
+    }
+
+    /**
+     * Calcula as máscaras das linhas, as chaves das faixas e o padrão de uma
+     * combinação: linhas em ordem crescente dentro de cada faixa e faixas em
+     * ordem crescente
+     */
+    private void evaluate(int transposed, int stacks, int first, int second, int third) {
+        int[] order = ORDERS[stacks];
+        for (int row = 0; row < 9; row++) {
+            int[] masks = stackMasks[transposed][row];
+            rowMasks[row] = STACK_MASKS[first][masks[order[0]]] << 6 | STACK_MASKS[second][masks[order[1]]] << 3
+                    | STACK_MASKS[third][masks[order[2]]];
+        }
+        for (int band = 0; band < 3; band++) {
+            bandKeys[band] = sortedKey(rowMasks[band * 3], rowMasks[band * 3 + 1], rowMasks[band * 3 + 2], 9);
+        }
+
+        int a = bandKeys[0];
+        int b = bandKeys[1];
+        int c = bandKeys[2];
+        pattern[0] = Math.min(a, Math.min(b, c));
+        pattern[2] = Math.max(a, Math.max(b, c));
+        pattern[1] = a ^ b ^ c ^ pattern[0] ^ pattern[2];
+    }
+
+    /**
+     * Junta três valores de bits bits cada em ordem crescente, o menor nos
+     * bits altos
+     */
+    private static int sortedKey(int a, int b, int c, int bits) {
+        int low = Math.min(a, Math.min(b, c));
+        int high = Math.max(a, Math.max(b, c));
+        int middle = a ^ b ^ c ^ low ^ high;
+        return (low << (2 * bits)) | (middle << bits) | high;
+    }
+
+    /**
+     * Escolhe a linha da posição pos entre as permitidas pela estrutura de
+     * faixas e pelo menor padrão, explorando só as que produzem o menor
+     * conteúdo
+     *
+     * @param pos       posição de linha sendo preenchida (0-8)
+     * @param bandsUsed máscara das faixas de origem já usadas
+     * @param rowsUsed  máscara das linhas de origem já usadas
+     */
+    private void search(int pos, int bandsUsed, int rowsUsed) {
+        if (pos == 9) {
+            if (!bestValid || compare(current, best, 81) < 0) {
+                System.arraycopy(current, 0, best, 0, 81);
+                bestValid = true;
+            }
+            return;
+        }
+
+        // O prefixo já montado precisa ser, no máximo, igual ao do melhor
+        int prefix = bestValid ? compare(current, best, pos * 9) : -1;
+        if (prefix > 0) {
+            return;
+        }
+
+        // Candidatas: no início de cada faixa, qualquer linha de uma faixa nova
+        // com a chave do padrão, ou as linhas restantes da faixa atual; em
+        // ambos os casos, com a máscara do padrão nessa posição
+        int count = 0;
+        for (int row = 0; row < 9; row++) {
+            if (rowMasks[row] != targetRows[pos]) {
+                continue;
+            }
+            boolean allowed = pos % 3 == 0
+                    ? (bandsUsed & (1 << (row / 3))) == 0 && bandKeys[row / 3] == bestPattern[pos / 3]
+                    : (rowsUsed & (1 << row)) == 0 && (bandsUsed & (1 << (row / 3))) != 0
+                            && sameBandAsPrevious(row, rowsUsed);
+            if (allowed) {
+                relabel(pos, row, count);
+                candidateSource[pos][count] = row;
+                count++;
+            }
+        }
+
+        // Menor conteúdo entre as candidatas
+        int minimum = 0;
+        for (int i = 1; i < count; i++) {
+            if (compare(candidateRows[pos][i], candidateRows[pos][minimum], 9) < 0) {
+                minimum = i;
+            }
+        }
+
+        if (prefix == 0) {
+            int cmp = compareRow(candidateRows[pos][minimum], best, pos * 9);
+            if (cmp > 0) {
+                return;
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (compare(candidateRows[pos][i], candidateRows[pos][minimum], 9) != 0) {
+                continue;
+            }
+
+            int row = candidateSource[pos][i];
+            System.arraycopy(candidateRows[pos][i], 0, current, pos * 9, 9);
+            System.arraycopy(candidateLabels[pos][i], 0, labels[pos + 1], 0, 10);
+            nextLabel[pos + 1] = candidateNext[pos][i];
+            search(pos + 1, bandsUsed | (1 << (row / 3)), rowsUsed | (1 << row));
+        }
+    }
+
+    /**
+     * Verifica se a linha pertence à faixa da linha escolhida por último
+     */
+    private boolean sameBandAsPrevious(int row, int rowsUsed) {
+        // A faixa atual é a única já usada que ainda tem linhas livres
+        int band = row / 3;
+        int bandRows = 0b111 << (band * 3);
+        return (rowsUsed & bandRows) != 0;
+    }
+
+    /**
+     * Calcula o conteúdo renomeado de uma linha candidata a partir dos rótulos
+     * da posição pos
+     */
+    private void relabel(int pos, int row, int candidate) {
+        int[] map = candidateLabels[pos][candidate];
+        System.arraycopy(labels[pos], 0, map, 0, 10);
+        int next = nextLabel[pos];
+
+        int[] content = candidateRows[pos][candidate];
+        for (int col = 0; col < 9; col++) {
+            int value = source[row * 9 + columns[col]];
+            if (value != 0 && map[value] == 0) {
+                map[value] = next++;
+            }
+            content[col] = value == 0 ? 0 : map[value];
+        }
+        candidateNext[pos][candidate] = next;
+    }
+
+    /**
+     * Compara os primeiros length valores de duas sequências
+     */
+    private static int compare(int[] a, int[] b, int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[i] != b[i]) {
+                return a[i] < b[i] ? -1 : 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Compara uma linha com a linha de best que começa em offset
+     */
+    private static int compareRow(int[] row, int[] sequence, int offset) {
+        for (int i = 0; i < 9; i++) {
+            if (row[i] != sequence[offset + i]) {
+                return row[i] < sequence[offset + i] ? -1 : 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Finalizador do SplitMix64, uma bijeção com boa difusão de bits
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
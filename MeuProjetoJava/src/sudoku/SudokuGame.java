@@ -0,0 +1,130 @@
+package sudoku;
+
+import java.util.Scanner;
+
+/**
+ * Classe principal que controla o fluxo do jogo de Sudoku
+ * 
+ * Esta classe gerencia as interações do usuário no console e exibe o
+ * tabuleiro; as regras da partida ficam em SudokuSession.
+ */
+class SudokuGame {
+    private SudokuSession session;
+    private Scanner scanner;
+
+    /**
+     * Construtor da classe SudokuGame
+     * Inicializa o tabuleiro com um puzzle gerado automaticamente
+     * e prepara os recursos necessários para o jogo
+     */
+    public SudokuGame() {
+        this(null);
+    }
+
+    /**
+     * Construtor da classe SudokuGame com um estoque de puzzles pré-gerados
+     * 
+     * @param pool estoque de onde o puzzle é retirado, ou null para gerar o
+     *             puzzle na hora
+     */
+    public SudokuGame(PuzzlePool pool) {
+        // Puzzle de dificuldade média, medida pelas técnicas necessárias. O
+        // estoque só gera na hora se não houver nenhum pronto
+        SudokuBoard board;
+        if (pool != null) {
+            board = pool.take(Difficulty.MEDIUM);
+        } else {
+            board = new SudokuBoard();
+            SudokuGenerator generator = new SudokuGenerator();
+            generator.generatePuzzle(board, Difficulty.MEDIUM);
+        }
+        session = new SudokuSession(board);
+
+        // Inicializa o scanner para entrada do usuário
+        scanner = new Scanner(System.in);
+    }
+
+    /**
+     * Método principal que executa o loop do jogo
+     * Continua até que o jogo seja concluído
+     */
+    public void play() {
+        while (!session.isOver()) {
+            // Exibe o estado atual do tabuleiro
+            session.getBoard().display();
+
+            // Processa a jogada do usuário
+            SudokuSession.MoveResult result = processMove();
+
+            // Informa a conclusão do jogo
+            if (session.isOver()) {
+                System.out.println("\n" + result.getMessage(session.getBoard().getSize()));
+            }
+        }
+
+        // Exibe o tabuleiro final
+        session.getBoard().display();
+
+        // Fecha o scanner quando o jogo terminar
+        scanner.close();
+    }
+
+    /**
+     * Processa uma jogada do usuário, solicitando linha, coluna e valor
+     * Repete a solicitação até que a sessão aceite a jogada; no lugar da linha
+     * o usuário pode pedir para desfazer, refazer ou uma dica
+     * 
+     * @return o resultado da jogada aplicada, ou null depois de um comando
+     */
+    private SudokuSession.MoveResult processMove() {
+        int row, col, value;
+
+        while (true) {
+            try {
+                // Solicita coordenadas e valor, ou um comando
+                System.out.print("\nDigite a linha (1-9) ou desfazer, refazer, dica: ");
+                String command = scanner.next();
+                if (command.equalsIgnoreCase("desfazer")) {
+                    if (!session.undo()) {
+                        System.out.println("Nada para desfazer.");
+                    }
+                    return null;
+                }
+                if (command.equalsIgnoreCase("refazer")) {
+                    if (!session.redo()) {
+                        System.out.println("Nada para refazer.");
+                    }
+                    return null;
+                }
+                if (command.equalsIgnoreCase("dica")) {
+                    SudokuSession.Hint hint = session.hint();
+                    if (hint == null) {
+                        System.out.println("Nenhuma dica disponível.");
+                    } else {
+                        System.out.printf("Dica: linha %d, coluna %d, valor %d%n", hint.getRow() + 1,
+                                hint.getCol() + 1, hint.getValue());
+                    }
+                    return null;
+                }
+                row = Integer.parseInt(command) - 1; // Subtrai 1 para converter de 1-9 para 0-8 (índices de array)
+
+                System.out.print("Digite a coluna (1-9): ");
+                col = scanner.nextInt() - 1; // Subtrai 1 para converter de 1-9 para 0-8 (índices de array)
+
+                System.out.print("Digite o valor (1-9, 0 para apagar): ");
+                value = scanner.nextInt();
+            } catch (Exception e) {
+                System.out.println("Entrada inválida! Por favor, insira números inteiros.");
+                scanner.nextLine(); // Limpa o buffer do scanner
+                continue;
+            }
+
+            // A sessão valida a entrada, a célula e as regras do Sudoku
+            SudokuSession.MoveResult result = session.play(row, col, value);
+            if (result.isApplied()) {
+                return result;
+            }
+            System.out.println(result.getMessage(session.getBoard().getSize()));
+        }
+    }
+}
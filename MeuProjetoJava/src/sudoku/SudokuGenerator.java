@@ -0,0 +1,265 @@
+package sudoku;
+
+import java.util.SplittableRandom;
+
+/**
+ * Classe responsável por gerar puzzles de Sudoku
+ * 
+ * Utiliza algoritmos de backtracking para criar tabuleiros válidos
+ * e então remove células para criar puzzles de diferentes dificuldades.
+ */
+class SudokuGenerator {
+    // Tentativas (grades completas) para atingir a faixa de dificuldade pedida
+    private static final int MAX_DIFFICULTY_ATTEMPTS = 20;
+
+    private SplittableRandom random;
+    private DifficultyGrader grader;
+    private SolutionGridGenerator gridGenerator; // Criado para o tamanho em uso
+    private BitmaskSolver uniquenessChecker; // Criado para o tamanho em uso
+
+    /**
+     * Construtor da classe SudokuGenerator
+     * Inicializa o gerador aleatório e o solucionador
+     */
+    public SudokuGenerator() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Construtor da classe SudokuGenerator com uma fonte aleatória própria
+     * 
+     * Cada instância tem seu próprio solucionador, que guarda estado; por isso
+     * um gerador não deve ser compartilhado entre threads. Para gerar em
+     * paralelo, cada thread deve ter o seu, com um random obtido por split().
+     * 
+     * A grade completa vem de um SolutionGridGenerator, que sorteia os
+     * dígitos durante a própria busca. A unicidade a cada remoção é
+     * verificada por um BitmaskSolver que mantém o puzzle carregado entre as
+     * remoções e só procura uma solução alternativa.
+     * 
+     * @param random fonte de números aleatórios usada por este gerador
+     */
+    public SudokuGenerator(SplittableRandom random) {
+        this.random = random;
+        grader = new DifficultyGrader();
+    }
+
+    /**
+     * Gera um puzzle de Sudoku com o número especificado de células vazias
+     * 
+     * @param board      o tabuleiro a ser preenchido
+     * @param emptyCells número de células que devem ficar vazias
+     * @return o número de células efetivamente esvaziadas, que pode ser menor
+     *         que emptyCells se não houver mais remoções que mantenham a
+     *         solução única
+     */
+    public int generatePuzzle(SudokuBoard board, int emptyCells) {
+        return generatePuzzle(board, emptyCells, Long.MAX_VALUE);
+    }
+
+    /**
+     * Gera um puzzle de Sudoku com um limite de tempo para a remoção de dígitos
+     * 
+     * @param board       o tabuleiro a ser preenchido
+     * @param emptyCells  número de células que devem ficar vazias
+     * @param budgetNanos tempo máximo, em nanossegundos, gasto removendo dígitos
+     * @return o número de células efetivamente esvaziadas
+     */
+    public int generatePuzzle(SudokuBoard board, int emptyCells, long budgetNanos) {
+        // Preenche o tabuleiro com uma solução completa e válida
+        fillBoard(board);
+
+        // Remove células para criar o puzzle
+        int removed = removeDigits(board, emptyCells, budgetNanos);
+
+        // Marca as células do puzzle original como não editáveis
+        lockGivens(board);
+
+        return removed;
+    }
+
+    /**
+     * Gera um puzzle cuja pontuação de dificuldade esteja na faixa do nível
+     * 
+     * Disponível apenas para o tabuleiro 9x9, o único que o DifficultyGrader
+     * avalia. Remove dígitos um a um, avaliando o puzzle após cada remoção. Uma
+     * remoção que leva a pontuação além da faixa é desfeita, e a geração para
+     * assim que a pontuação entra na faixa. Se uma grade completa não permitir
+     * atingir a faixa, outra é gerada, até MAX_DIFFICULTY_ATTEMPTS vezes.
+     * 
+     * @param board      o tabuleiro a ser preenchido
+     * @param difficulty o nível de dificuldade desejado
+     * @return a pontuação de dificuldade do puzzle gerado
+     * @throws IllegalArgumentException se o tabuleiro não for 9x9
+     */
+    public int generatePuzzle(SudokuBoard board, Difficulty difficulty) {
+        if (board.getSize() != 9) {
+            throw new IllegalArgumentException("Níveis de dificuldade só existem para o tabuleiro 9x9");
+        }
+
+        int score = 0;
+        for (int attempt = 0; attempt < MAX_DIFFICULTY_ATTEMPTS; attempt++) {
+            fillBoard(board);
+            score = removeDigitsForDifficulty(board, difficulty);
+            if (difficulty.contains(score)) {
+                break;
+            }
+        }
+
+        lockGivens(board);
+        return score;
+    }
+
+    /**
+     * Marca as células preenchidas do puzzle como não editáveis
+     * 
+     * @param board o puzzle gerado
+     */
+    private void lockGivens(SudokuBoard board) {
+        int size = board.getSize();
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (board.getCellValue(i, j) != 0) {
+                    board.setCellEditable(i, j, false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Preenche o tabuleiro com uma solução completa e válida
+     * 
+     * Cada grade vem de uma busca aleatória nova, com os dígitos sorteados a
+     * cada célula; não há blocos pré-preenchidos nem resolução em ordem
+     * crescente dos dígitos.
+     * 
+     * @param board o tabuleiro a ser preenchido
+     */
+    private void fillBoard(SudokuBoard board) {
+        if (gridGenerator == null || gridGenerator.getBoxSize() != board.getBoxSize()) {
+            gridGenerator = new SolutionGridGenerator(board.getBoxSize(), random);
+        }
+        gridGenerator.fill(board);
+    }
+
+    /**
+     * Embaralha os elementos de um array
+     * 
+     * @param array o array a ser embaralhado
+     */
+    private void shuffleArray(int[] array) {
+        for (int i = array.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = array[i];
+            array[i] = array[j];
+            array[j] = temp;
+        }
+    }
+
+    /**
+     * Remove dígitos do tabuleiro para criar o puzzle
+     * 
+     * Cada posição é testada no máximo uma vez. A remoção termina ao atingir
+     * a quantidade pedida, ao esgotar as posições ou ao estourar o tempo.
+     * 
+     * @param board       o tabuleiro completo
+     * @param count       número de células a serem esvaziadas
+     * @param budgetNanos tempo máximo, em nanossegundos, gasto nas verificações
+     * @return o número de células efetivamente esvaziadas
+     */
+    private int removeDigits(SudokuBoard board, int count, long budgetNanos) {
+        // Cria uma lista de todas as posições (0-80 no tabuleiro 9x9)
+        int size = board.getSize();
+        int[] positions = new int[size * size];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = i;
+        }
+
+        // Embaralha as posições
+        shuffleArray(positions);
+
+        long start = System.nanoTime();
+        int removed = 0;
+
+        // A grade completa fica carregada no verificador, que acompanha as
+        // remoções sem recarregar nem copiar o tabuleiro
+        BitmaskSolver checker = uniquenessChecker(board);
+        checker.beginRemovals(board);
+
+        // Percorre as posições embaralhadas uma única vez
+        for (int i = 0; i < positions.length && removed < count; i++) {
+            // Para se o tempo disponível acabou
+            if (System.nanoTime() - start > budgetNanos) {
+                break;
+            }
+
+            // A célula só é esvaziada se nenhum outro dígito nela levar a uma
+            // solução; caso contrário o valor é mantido e segue para a próxima
+            int pos = positions[i];
+            if (checker.tryRemove(pos)) {
+                board.setCellValue(pos, 0);
+                removed++;
+            }
+        }
+
+        return removed;
+    }
+
+    /**
+     * Remove dígitos até a pontuação de dificuldade entrar na faixa do nível
+     * 
+     * @param board      o tabuleiro completo
+     * @param difficulty o nível de dificuldade desejado
+     * @return a pontuação do puzzle ao final da remoção
+     */
+    private int removeDigitsForDifficulty(SudokuBoard board, Difficulty difficulty) {
+        int[] positions = new int[81];
+        for (int i = 0; i < 81; i++) {
+            positions[i] = i;
+        }
+        shuffleArray(positions);
+
+        BitmaskSolver checker = uniquenessChecker(board);
+        checker.beginRemovals(board);
+
+        int score = 0;
+        for (int i = 0; i < positions.length; i++) {
+            int cell = positions[i];
+            int originalValue = board.getCellValue(cell);
+
+            // A solução precisa continuar única
+            if (!checker.tryRemove(cell)) {
+                continue;
+            }
+            board.setCellValue(cell, 0);
+
+            // A avaliação é abandonada assim que passa do máximo da faixa
+            int candidateScore = grader.grade(board, difficulty.getMaxScore());
+            if (candidateScore > difficulty.getMaxScore()) {
+                board.setCellValue(cell, originalValue);
+                checker.restore(cell, originalValue);
+                continue;
+            }
+
+            score = candidateScore;
+            if (score >= difficulty.getMinScore()) {
+                break;
+            }
+        }
+
+        return score;
+    }
+
+    /**
+     * Obtém o verificador de unicidade para o tamanho do tabuleiro
+     * 
+     * @param board o tabuleiro em geração
+     * @return o verificador deste gerador, recriado só se o tamanho mudar
+     */
+    private BitmaskSolver uniquenessChecker(SudokuBoard board) {
+        if (uniquenessChecker == null || uniquenessChecker.getBoxSize() != board.getBoxSize()) {
+            uniquenessChecker = BitmaskSolver.forBoxSize(board.getBoxSize());
+        }
+        return uniquenessChecker;
+    }
+}
@@ -0,0 +1,110 @@
+package sudoku;
+
+/**
+ * Geometria de um tabuleiro de Sudoku com quadrantes de boxSize x boxSize
+ *
+ * O tabuleiro tem size = boxSize² linhas e colunas (4x4, 9x9, 16x16 ou 25x25)
+ * e size² células, numeradas em ordem de linha. As tabelas de linha, coluna e
+ * quadrante de cada célula, as 3 * size unidades, as unidades de cada célula e
+ * os vizinhos de cada célula (20 no 9x9) são calculadas uma única vez por
+ * tamanho e compartilhadas por todos os tabuleiros, motores e validadores; não
+ * devem ser alteradas.
+ *
+ * Os dígitos são representados em máscaras int (bit d - 1 para o dígito d),
+ * suficientes para os 25 dígitos do maior tamanho suportado.
+ */
+final class SudokuGeometry {
+    static final int MIN_BOX_SIZE = 2;
+    static final int MAX_BOX_SIZE = 5;
+
+    private static final SudokuGeometry[] BY_BOX_SIZE = new SudokuGeometry[MAX_BOX_SIZE + 1];
+
+    static {
+        for (int boxSize = MIN_BOX_SIZE; boxSize <= MAX_BOX_SIZE; boxSize++) {
+            BY_BOX_SIZE[boxSize] = new SudokuGeometry(boxSize);
+        }
+    }
+
+    final int boxSize; // Lado de um quadrante
+    final int size; // Lado do tabuleiro e quantidade de dígitos
+    final int cellCount; // Quantidade de células
+    final int allDigits; // Máscara com todos os dígitos ligados
+
+    final int[] rowOf; // Linha de cada célula
+    final int[] colOf; // Coluna de cada célula
+    final int[] boxOf; // Quadrante de cada célula
+
+    // Unidades: linhas (0 a size-1), colunas (size a 2*size-1) e quadrantes
+    final int[][] units;
+
+    // Índices das três unidades de cada célula: linha, coluna e quadrante
+    final int[][] unitsOf;
+
+    // Células que compartilham linha, coluna ou quadrante com cada célula
+    final int[][] peers;
+
+    private SudokuGeometry(int boxSize) {
+        this.boxSize = boxSize;
+        this.size = boxSize * boxSize;
+        this.cellCount = size * size;
+        this.allDigits = (1 << size) - 1;
+
+        rowOf = new int[cellCount];
+        colOf = new int[cellCount];
+        boxOf = new int[cellCount];
+        units = new int[3 * size][size];
+        unitsOf = new int[cellCount][3];
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            int row = cell / size;
+            int col = cell % size;
+            int box = (row / boxSize) * boxSize + col / boxSize;
+            rowOf[cell] = row;
+            colOf[cell] = col;
+            boxOf[cell] = box;
+
+            units[row][col] = cell;
+            units[size + col][row] = cell;
+            units[2 * size + box][(row % boxSize) * boxSize + col % boxSize] = cell;
+            unitsOf[cell][0] = row;
+            unitsOf[cell][1] = size + col;
+            unitsOf[cell][2] = 2 * size + box;
+        }
+
+        // Linha e coluna inteiras, mais as células do quadrante fora delas
+        int peerCount = 2 * (size - 1) + (boxSize - 1) * (boxSize - 1);
+        peers = new int[cellCount][peerCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            int count = 0;
+            for (int other = 0; other < cellCount; other++) {
+                if (other != cell && (rowOf[other] == rowOf[cell] || colOf[other] == colOf[cell]
+                        || boxOf[other] == boxOf[cell])) {
+                    peers[cell][count++] = other;
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtém a geometria de um tamanho de quadrante
+     *
+     * @param boxSize lado do quadrante (2 a 5)
+     * @return a geometria compartilhada para esse tamanho
+     */
+    static SudokuGeometry of(int boxSize) {
+        if (boxSize < MIN_BOX_SIZE || boxSize > MAX_BOX_SIZE) {
+            throw new IllegalArgumentException("Tamanho de quadrante não suportado: " + boxSize);
+        }
+        return BY_BOX_SIZE[boxSize];
+    }
+
+    /**
+     * Converte um valor no símbolo usado na exibição e nos arquivos de texto
+     *
+     * @param value valor da célula (0 = vazia)
+     * @return '0' para vazio, '1'-'9' e depois 'A', 'B', ... para valores acima de 9
+     */
+    static char symbolOf(int value) {
+        return value <= 9 ? (char) ('0' + value) : (char) ('A' + value - 10);
+    }
+}
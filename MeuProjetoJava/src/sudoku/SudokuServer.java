@@ -0,0 +1,390 @@
+package sudoku;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Servidor local de partidas de Sudoku com um protocolo de linhas de texto
+ *
+ * Cada conexão é uma SudokuSession atendida por uma thread própria. Quando o
+ * runtime oferece threads virtuais (Java 21 ou mais recente), cada sessão roda
+ * em uma delas e fica bloqueada na leitura sem ocupar uma thread do sistema; em
+ * runtimes mais antigos é usado um pool de threads comuns sob demanda. Uma
+ * sessão sem nenhum comando durante o tempo limite de inatividade é encerrada.
+ *
+ * Protocolo (um comando por linha, uma resposta por linha, em UTF-8):
+ *
+ * <pre>
+ * NEW [EASY|MEDIUM|HARD|EXPERT]  -> OK &lt;tabuleiro&gt;
+ * MOVE linha coluna valor        -> OK &lt;resultado&gt; | ERR &lt;resultado&gt; &lt;mensagem&gt;
+ * BOARD                          -> OK &lt;tabuleiro&gt;
+ * UNDO | REDO                    -> OK | ERR &lt;mensagem&gt;
+ * HINT                           -> OK linha coluna valor | ERR &lt;mensagem&gt;
+ * QUIT                           -> BYE
+ * </pre>
+ *
+ * Linha e coluna vão de 1 ao lado do tabuleiro (9 nas partidas 9x9) e o
+ * valor de 0 (apagar) ao mesmo limite. O tabuleiro é enviado como uma linha
+ * com uma célula por caractere em ordem de linha, com '.' nas células vazias.
+ * O resultado é o nome de um SudokuSession.MoveResult.
+ *
+ * Uma linha de comando com mais de MAX_LINE_LENGTH bytes recebe
+ * "ERR linha muito longa" e a conexão é encerrada, para que um cliente não
+ * consiga fazer o servidor acumular uma linha sem fim na memória.
+ *
+ * As soluções usadas em HINT vêm de um SolveCache compartilhado pelas sessões,
+ * de modo que um puzzle é resolvido uma vez por servidor, não uma vez por
+ * partida.
+ *
+ * Propriedades: -Dsudoku.server.idleSeconds=300 -Dsudoku.cache.entries=10000
+ */
+class SudokuServer implements AutoCloseable {
+    private static final int DEFAULT_PORT = 7878;
+    private static final int BUFFER_SIZE = 256; // Linhas do protocolo são curtas
+    private static final int MAX_LINE_LENGTH = 64; // Bytes por linha; o maior comando tem menos de 20
+
+    // Retornos de readLine que não são comprimentos
+    private static final int END_OF_INPUT = -1;
+    private static final int LINE_TOO_LONG = -2;
+    private static final int DEFAULT_CACHE_ENTRIES = 10000;
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor;
+    private final PuzzlePool pool;
+    private final SolveCache solveCache;
+    private final int idleMillis;
+    private final AtomicInteger activeSessions = new AtomicInteger();
+    private final LongAdder evictedSessions = new LongAdder();
+
+    /**
+     * Construtor da classe SudokuServer
+     * Abre a porta apenas na interface local; as conexões só são aceitas ao
+     * chamar serve()
+     *
+     * @param port        porta TCP (0 para escolher uma livre)
+     * @param pool        estoque de onde saem os puzzles das partidas
+     * @param idleSeconds tempo sem comandos até a sessão ser encerrada
+     * @throws IOException se a porta não puder ser aberta
+     */
+    public SudokuServer(int port, PuzzlePool pool, int idleSeconds) throws IOException {
+        this(port, pool, idleSeconds, DEFAULT_CACHE_ENTRIES);
+    }
+
+    /**
+     * Construtor da classe SudokuServer
+     * Abre a porta apenas na interface local; as conexões só são aceitas ao
+     * chamar serve()
+     *
+     * @param port         porta TCP (0 para escolher uma livre)
+     * @param pool         estoque de onde saem os puzzles das partidas
+     * @param idleSeconds  tempo sem comandos até a sessão ser encerrada
+     * @param cacheEntries quantidade máxima de soluções guardadas para as dicas
+     * @throws IOException se a porta não puder ser aberta
+     */
+    public SudokuServer(int port, PuzzlePool pool, int idleSeconds, int cacheEntries) throws IOException {
+        if (idleSeconds < 1) {
+            throw new IllegalArgumentException("idleSeconds deve ser maior que zero: " + idleSeconds);
+        }
+
+        this.pool = pool;
+        this.solveCache = new SolveCache(cacheEntries);
+        this.idleMillis = (int) TimeUnit.SECONDS.toMillis(idleSeconds);
+        this.serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+        this.executor = newSessionExecutor();
+    }
+
+    /**
+     * Ponto de entrada do modo servidor, chamado por Main
+     *
+     * @param port porta TCP, ou null para a porta padrão
+     */
+    public static void runFromCommandLine(String port) {
+        int idleSeconds = Integer.getInteger("sudoku.server.idleSeconds", 300);
+        int cacheEntries = Integer.getInteger("sudoku.cache.entries", DEFAULT_CACHE_ENTRIES);
+
+        try (PuzzlePool pool = new PuzzlePool();
+                SudokuServer server = new SudokuServer(port == null ? DEFAULT_PORT : Integer.parseInt(port), pool,
+                        idleSeconds, cacheEntries)) {
+            System.out.println("Servidor de Sudoku em 127.0.0.1:" + server.getPort());
+            server.serve();
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Erro no servidor: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Aceita conexões até o servidor ser fechado
+     *
+     * @throws IOException se a porta falhar por outro motivo que não o
+     *                     fechamento
+     */
+    public void serve() throws IOException {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    return; // Fechado por close()
+                }
+                throw e;
+            }
+
+            activeSessions.incrementAndGet();
+            executor.execute(() -> {
+                try {
+                    handle(socket);
+                } finally {
+                    activeSessions.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * Obtém a porta em que o servidor escuta
+     *
+     * @return a porta local
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Obtém a quantidade de conexões abertas
+     *
+     * @return sessões em atendimento
+     */
+    public int getActiveSessions() {
+        return activeSessions.get();
+    }
+
+    /**
+     * Obtém a quantidade de sessões encerradas por inatividade
+     *
+     * @return sessões despejadas desde a criação do servidor
+     */
+    public long getEvictedSessions() {
+        return evictedSessions.sum();
+    }
+
+    /**
+     * Obtém o cache de soluções das sessões
+     *
+     * @return o cache, com as estatísticas de acertos e falhas
+     */
+    public SolveCache getSolveCache() {
+        return solveCache;
+    }
+
+    /**
+     * Para de aceitar conexões e interrompe as sessões em andamento
+     *
+     * @throws IOException se o fechamento da porta falhar
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            serverSocket.close();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Atende uma conexão até QUIT, fim da entrada ou inatividade
+     *
+     * @param socket conexão do cliente
+     */
+    private void handle(Socket socket) {
+        try (socket;
+                InputStream in = new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE);
+                OutputStream out = new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE)) {
+            // A leitura bloqueada desiste depois do tempo limite
+            socket.setSoTimeout(idleMillis);
+            SudokuSession session = null;
+            byte[] boardLine = null; // Resposta com o tabuleiro, reaproveitada
+            byte[] lineBuffer = new byte[MAX_LINE_LENGTH];
+
+            while (true) {
+                int length;
+                try {
+                    length = readLine(in, lineBuffer);
+                } catch (SocketTimeoutException e) {
+                    evictedSessions.increment();
+                    reply(out, "BYE inatividade");
+                    return;
+                }
+                if (length == LINE_TOO_LONG) {
+                    reply(out, "ERR linha muito longa");
+                    return;
+                }
+                if (length == END_OF_INPUT) {
+                    return; // Cliente desconectou
+                }
+                String line = new String(lineBuffer, 0, length, StandardCharsets.UTF_8);
+
+                String[] parts = line.trim().split("\\s+");
+                switch (parts[0].toUpperCase()) {
+                    case "NEW":
+                        Difficulty difficulty = Difficulty.MEDIUM;
+                        if (parts.length > 1) {
+                            try {
+                                difficulty = Difficulty.valueOf(parts[1].toUpperCase());
+                            } catch (IllegalArgumentException e) {
+                                reply(out, "ERR dificuldade desconhecida: " + parts[1]);
+                                break;
+                            }
+                        }
+                        session = new SudokuSession(pool.take(difficulty), solveCache);
+                        boardLine = replyBoard(out, session.getBoard(), boardLine);
+                        break;
+
+                    case "MOVE":
+                        if (session == null) {
+                            reply(out, "ERR nenhuma partida; use NEW");
+                            break;
+                        }
+                        if (parts.length != 4) {
+                            reply(out, "ERR uso: MOVE linha coluna valor");
+                            break;
+                        }
+                        SudokuSession.MoveResult result;
+                        try {
+                            result = session.play(Integer.parseInt(parts[1]) - 1, Integer.parseInt(parts[2]) - 1,
+                                    Integer.parseInt(parts[3]));
+                        } catch (NumberFormatException e) {
+                            result = SudokuSession.MoveResult.OUT_OF_RANGE;
+                        }
+                        reply(out, result.isApplied() ? "OK " + result.name()
+                                : "ERR " + result.name() + " " + result.getMessage(session.getBoard().getSize()));
+                        break;
+
+                    case "BOARD":
+                        if (session == null) {
+                            reply(out, "ERR nenhuma partida; use NEW");
+                        } else {
+                            boardLine = replyBoard(out, session.getBoard(), boardLine);
+                        }
+                        break;
+
+                    case "UNDO":
+                        reply(out, session != null && session.undo() ? "OK" : "ERR nada para desfazer");
+                        break;
+
+                    case "REDO":
+                        reply(out, session != null && session.redo() ? "OK" : "ERR nada para refazer");
+                        break;
+
+                    case "HINT":
+                        SudokuSession.Hint hint = session == null ? null : session.hint();
+                        reply(out, hint == null ? "ERR nenhuma dica disponível"
+                                : "OK " + (hint.getRow() + 1) + " " + (hint.getCol() + 1) + " " + hint.getValue());
+                        break;
+
+                    case "QUIT":
+                        reply(out, "BYE");
+                        return;
+
+                    default:
+                        reply(out, "ERR comando desconhecido: " + parts[0]);
+                        break;
+                }
+            }
+        } catch (IOException e) {
+            // Conexão perdida: a sessão simplesmente termina
+        }
+    }
+
+    /**
+     * Lê uma linha de comando de no máximo MAX_LINE_LENGTH bytes
+     *
+     * @param in     entrada da conexão
+     * @param buffer área de leitura com MAX_LINE_LENGTH bytes, reaproveitada
+     * @return o comprimento da linha no buffer, sem o '\n'; END_OF_INPUT no
+     *         fim da entrada, ou LINE_TOO_LONG se a linha não couber no buffer
+     *         (o restante dela não é lido)
+     * @throws IOException se a leitura falhar ou o tempo limite acabar
+     */
+    private static int readLine(InputStream in, byte[] buffer) throws IOException {
+        int length = 0;
+        while (true) {
+            int b = in.read();
+            if (b == -1) {
+                return length == 0 ? END_OF_INPUT : length;
+            }
+            if (b == '\n') {
+                return length;
+            }
+            if (length == buffer.length) {
+                return LINE_TOO_LONG;
+            }
+            buffer[length++] = (byte) b;
+        }
+    }
+
+    /**
+     * Envia uma linha de resposta
+     */
+    private static void reply(OutputStream out, String line) throws IOException {
+        out.write(line.getBytes(StandardCharsets.UTF_8));
+        out.write('\n');
+        out.flush();
+    }
+
+    /**
+     * Envia "OK" seguido da forma compacta do tabuleiro
+     *
+     * @param line buffer da resposta anterior, ou null
+     * @return o buffer usado, para ser reaproveitado na próxima resposta
+     */
+    private static byte[] replyBoard(OutputStream out, SudokuBoard board, byte[] line) throws IOException {
+        int cellCount = board.getSize() * board.getSize();
+        if (line == null || line.length < cellCount + 4) {
+            line = new byte[cellCount + 4];
+            line[0] = 'O';
+            line[1] = 'K';
+            line[2] = ' ';
+        }
+
+        int length = 3 + BoardRenderer.writeCompact(board, line, 3);
+        line[length++] = '\n';
+        out.write(line, 0, length);
+        out.flush();
+        return line;
+    }
+
+    /**
+     * Cria o executor das sessões: uma thread virtual por sessão quando o
+     * runtime oferece, senão um pool de threads daemon sob demanda
+     *
+     * O projeto compila para Java 17, por isso a fábrica de threads virtuais é
+     * procurada por reflexão.
+     */
+    private static ExecutorService newSessionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "sudoku-session-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
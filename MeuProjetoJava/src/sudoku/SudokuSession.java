@@ -0,0 +1,344 @@
+package sudoku;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Uma partida de Sudoku, independente de onde vêm as jogadas
+ *
+ * Guarda o tabuleiro e o estado da partida e aplica as regras de uma jogada:
+ * faixa dos valores, células do puzzle original, regras do Sudoku e
+ * conclusão. Não lê nem escreve no console, de modo que o mesmo código atende
+ * o jogo no console (SudokuGame) e as sessões remotas (SudokuServer). O estado
+ * é o tabuleiro, um MoveJournal com as jogadas (para desfazer e refazer) e, a
+ * partir da primeira dica, a solução do puzzle, calculada uma única vez. Com
+ * um SolveCache, sessões do mesmo puzzle compartilham essa solução.
+ *
+ * Com open, cada evento também vai para um arquivo de histórico, e recover
+ * reconstrói a partida exatamente como estava depois de uma queda.
+ *
+ * Uma sessão não deve ser compartilhada entre threads.
+ */
+class SudokuSession implements AutoCloseable {
+
+    /**
+     * Resultado de uma jogada, com a mensagem mostrada ao jogador
+     */
+    enum MoveResult {
+        ACCEPTED("Jogada aplicada."),
+        OUT_OF_RANGE("Entrada inválida! Linha e coluna entre 1 e %d, valor entre 0 e %d."),
+        NOT_EDITABLE("Esta célula faz parte do puzzle original e não pode ser alterada!"),
+        INVALID_MOVE("Movimento inválido! Este valor viola as regras do Sudoku."),
+        SOLVED("Parabéns! Você resolveu o puzzle corretamente!"),
+        FILLED_INCORRECT("O tabuleiro está preenchido, mas a solução não está correta."),
+        GAME_OVER("A partida já terminou.");
+
+        private final String message;
+
+        MoveResult(String message) {
+            this.message = message;
+        }
+
+        /**
+         * Obtém a mensagem para o jogador
+         *
+         * @param size lado do tabuleiro da partida, usado nos limites de
+         *             OUT_OF_RANGE
+         * @return o texto que descreve o resultado
+         */
+        public String getMessage(int size) {
+            return this == OUT_OF_RANGE ? String.format(message, size, size) : message;
+        }
+
+        /**
+         * Verifica se a jogada foi aplicada ao tabuleiro
+         *
+         * @return true para ACCEPTED, SOLVED e FILLED_INCORRECT
+         */
+        public boolean isApplied() {
+            return this == ACCEPTED || this == SOLVED || this == FILLED_INCORRECT;
+        }
+    }
+
+    /**
+     * Sugestão de jogada devolvida por hint()
+     */
+    static final class Hint {
+        private final int row;
+        private final int col;
+        private final int value;
+
+        Hint(int row, int col, int value) {
+            this.row = row;
+            this.col = col;
+            this.value = value;
+        }
+
+        /**
+         * Obtém a linha da célula sugerida
+         *
+         * @return linha (0 a tamanho - 1)
+         */
+        public int getRow() {
+            return row;
+        }
+
+        /**
+         * Obtém a coluna da célula sugerida
+         *
+         * @return coluna (0 a tamanho - 1)
+         */
+        public int getCol() {
+            return col;
+        }
+
+        /**
+         * Obtém o valor correto da célula
+         *
+         * @return o valor da solução
+         */
+        public int getValue() {
+            return value;
+        }
+    }
+
+    private final SudokuBoard board;
+    private final MoveJournal journal;
+    private final SolveCache cache; // null: resolve na própria sessão
+    private byte[] solution; // Solução do puzzle, calculada na primeira dica
+    private boolean over;
+
+    /**
+     * Construtor da classe SudokuSession
+     * O histórico de jogadas fica apenas em memória
+     *
+     * @param board o puzzle da partida, com as pistas bloqueadas para edição
+     */
+    public SudokuSession(SudokuBoard board) {
+        this(board, new MoveJournal(), null);
+    }
+
+    /**
+     * Construtor da classe SudokuSession
+     * O histórico de jogadas fica apenas em memória, e a solução usada nas
+     * dicas vem do cache compartilhado
+     *
+     * @param board o puzzle da partida, com as pistas bloqueadas para edição
+     * @param cache cache de soluções compartilhado entre sessões
+     */
+    public SudokuSession(SudokuBoard board, SolveCache cache) {
+        this(board, new MoveJournal(), cache);
+    }
+
+    /**
+     * Construtor da classe SudokuSession
+     *
+     * @param board   o puzzle da partida, com as pistas bloqueadas para edição
+     * @param journal histórico onde as jogadas são registradas
+     */
+    SudokuSession(SudokuBoard board, MoveJournal journal) {
+        this(board, journal, null);
+    }
+
+    private SudokuSession(SudokuBoard board, MoveJournal journal, SolveCache cache) {
+        this.board = board;
+        this.journal = journal;
+        this.cache = cache;
+    }
+
+    /**
+     * Inicia uma partida que grava cada evento em um arquivo
+     *
+     * @param board o puzzle da partida, com as pistas bloqueadas para edição
+     * @param file  arquivo do histórico (sobrescrito)
+     * @return a sessão
+     * @throws IOException se o arquivo não puder ser criado
+     */
+    public static SudokuSession open(SudokuBoard board, Path file) throws IOException {
+        return new SudokuSession(board, MoveJournal.create(file, board));
+    }
+
+    /**
+     * Reconstrói uma partida a partir do arquivo de histórico
+     * A sessão continua gravando no mesmo arquivo
+     *
+     * @param file arquivo criado por open
+     * @return a sessão no estado do último evento gravado
+     * @throws IOException se o arquivo não puder ser lido ou não for um
+     *                     histórico válido
+     */
+    public static SudokuSession recover(Path file) throws IOException {
+        return MoveJournal.replay(file);
+    }
+
+    /**
+     * Aplica uma jogada
+     *
+     * @param row   linha da célula (0 a tamanho - 1)
+     * @param col   coluna da célula (0 a tamanho - 1)
+     * @param value valor a ser colocado (1 a tamanho), ou 0 para apagar
+     * @return o resultado; SOLVED e FILLED_INCORRECT encerram a partida
+     */
+    public MoveResult play(int row, int col, int value) {
+        if (over) {
+            return MoveResult.GAME_OVER;
+        }
+
+        int size = board.getSize();
+        if (row < 0 || row >= size || col < 0 || col >= size || value < 0 || value > size) {
+            return MoveResult.OUT_OF_RANGE;
+        }
+
+        // Verifica se a célula é editável (não faz parte do puzzle original)
+        if (!board.isCellEditable(row, col)) {
+            return MoveResult.NOT_EDITABLE;
+        }
+
+        // Verifica se o movimento é válido pelas regras do Sudoku (apagar uma
+        // célula é sempre permitido)
+        if (value != 0 && !board.isValidMove(row, col, value)) {
+            return MoveResult.INVALID_MOVE;
+        }
+
+        // O histórico é gravado antes de alterar o tabuleiro
+        int cell = row * size + col;
+        journal.record(cell, board.getCellValue(cell), value);
+        return apply(cell, value);
+    }
+
+    /**
+     * Desfaz a última jogada aplicada
+     *
+     * @return true se havia jogada para desfazer e a partida não terminou
+     */
+    public boolean undo() {
+        if (over || !journal.canUndo()) {
+            return false;
+        }
+        int move = journal.undo();
+        apply(MoveJournal.cellOf(move), MoveJournal.oldValueOf(move));
+        return true;
+    }
+
+    /**
+     * Refaz a última jogada desfeita
+     *
+     * @return true se havia jogada para refazer e a partida não terminou
+     */
+    public boolean redo() {
+        if (over || !journal.canRedo()) {
+            return false;
+        }
+        int move = journal.redo();
+        apply(MoveJournal.cellOf(move), MoveJournal.newValueOf(move));
+        return true;
+    }
+
+    /**
+     * Sugere uma jogada com base na solução do puzzle
+     *
+     * Células preenchidas com o valor errado têm prioridade sobre as vazias.
+     * A solução é calculada só na primeira chamada; as seguintes apenas
+     * comparam o tabuleiro com ela.
+     *
+     * @return a célula e o valor correto, ou null se a partida terminou, se
+     *         não falta nada ou se o puzzle não tem solução
+     */
+    public Hint hint() {
+        if (over || !solve()) {
+            return null;
+        }
+
+        int size = board.getSize();
+        int empty = -1;
+        for (int cell = 0; cell < solution.length; cell++) {
+            int value = board.getCellValue(cell);
+            if (value == 0) {
+                if (empty < 0) {
+                    empty = cell;
+                }
+            } else if (value != solution[cell]) {
+                return new Hint(cell / size, cell % size, solution[cell]);
+            }
+        }
+        return empty < 0 ? null : new Hint(empty / size, empty % size, solution[empty]);
+    }
+
+    /**
+     * Aplica um valor e verifica a conclusão
+     * Os contadores do tabuleiro respondem sem percorrer as células
+     */
+    private MoveResult apply(int cell, int value) {
+        board.setCellValue(cell, value);
+        if (board.isFull()) {
+            over = true;
+            return board.isSolved() ? MoveResult.SOLVED : MoveResult.FILLED_INCORRECT;
+        }
+        return MoveResult.ACCEPTED;
+    }
+
+    /**
+     * Resolve o puzzle original (só as pistas) uma única vez
+     *
+     * @return true se a solução estiver disponível
+     */
+    private boolean solve() {
+        if (solution != null) {
+            return solution.length > 0;
+        }
+
+        SudokuBoard puzzle = new SudokuBoard(board.getBoxSize());
+        int size = board.getSize();
+        for (int cell = 0; cell < size * size; cell++) {
+            if (!board.isCellEditable(cell / size, cell % size)) {
+                puzzle.setCellValue(cell, board.getCellValue(cell));
+            }
+        }
+
+        // Um array vazio registra que o puzzle não tem solução
+        if (cache != null) {
+            SolveCache.Result result = cache.solve(puzzle);
+            if (!result.isSolvable()) {
+                solution = new byte[0];
+                return false;
+            }
+            result.copyTo(puzzle);
+        } else if (!BitmaskSolver.forBoxSize(board.getBoxSize()).solve(puzzle)) {
+            solution = new byte[0];
+            return false;
+        }
+        solution = new byte[size * size];
+        for (int cell = 0; cell < solution.length; cell++) {
+            solution[cell] = (byte) puzzle.getCellValue(cell);
+        }
+        return true;
+    }
+
+    /**
+     * Verifica se a partida terminou
+     *
+     * @return true depois de uma jogada que completou o tabuleiro
+     */
+    public boolean isOver() {
+        return over;
+    }
+
+    /**
+     * Obtém o tabuleiro da partida
+     *
+     * @return o tabuleiro (alterações diretas não passam pelas regras)
+     */
+    public SudokuBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * Fecha o arquivo de histórico, se houver
+     *
+     * @throws IOException se a gravação final falhar
+     */
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+}
@@ -0,0 +1,367 @@
+package sudoku;
+
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Classe responsável por resolver e verificar soluções de Sudoku
+ * 
+ * Delega a busca ao motor escolhido (SolverEngine). O backtracking original
+ * continua disponível para conferir se os motores dão as mesmas respostas.
+ * 
+ * Aceita tabuleiros de qualquer tamanho; o motor de cada tamanho é criado na
+ * primeira vez em que um tabuleiro desse tamanho aparece.
+ * 
+ * Com um SolveCache, solve e countSolutions consultam o cache antes do motor:
+ * um puzzle repetido é respondido sem busca, e um puzzle novo é resolvido pelo
+ * cache (com o motor de máscaras de bits) e guardado.
+ */
+class SudokuSolver {
+    // Contagem paralela compartilhada, que usa o pool comum do ForkJoin
+    private static final ParallelSolutionCounter PARALLEL_COUNTER = new ParallelSolutionCounter();
+
+    private final SolverEngine engine;
+    private final SolveCache cache; // null: sempre usa o motor
+    private BitmaskSolver bitmaskSolver;
+    private DlxSolver dlxSolver;
+    private int solutionCount;
+
+    /**
+     * Construtor da classe SudokuSolver
+     * Usa o motor configurado pela propriedade de sistema "sudoku.solver"
+     */
+    public SudokuSolver() {
+        this(SolverEngine.fromSystemProperty());
+    }
+
+    /**
+     * Construtor da classe SudokuSolver com um motor específico
+     * 
+     * @param engine o motor de resolução a ser usado
+     */
+    public SudokuSolver(SolverEngine engine) {
+        this(engine, null);
+    }
+
+    /**
+     * Construtor da classe SudokuSolver com um motor e um cache de resultados
+     * 
+     * @param engine o motor usado pelos métodos que não passam pelo cache
+     * @param cache  cache consultado por solve e countSolutions (null para não
+     *               usar cache); pode ser compartilhado entre solucionadores
+     */
+    public SudokuSolver(SolverEngine engine, SolveCache cache) {
+        this.engine = engine;
+        this.cache = cache;
+    }
+
+    /**
+     * Obtém o motor de resolução usado por este solucionador
+     * 
+     * @return o motor de resolução
+     */
+    public SolverEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Obtém o motor de máscaras de bits do tamanho do tabuleiro
+     * 
+     * @param board o tabuleiro a ser resolvido
+     * @return o motor deste solucionador para esse tamanho
+     */
+    private BitmaskSolver bitmaskSolver(SudokuBoard board) {
+        if (bitmaskSolver == null || bitmaskSolver.getBoxSize() != board.getBoxSize()) {
+            bitmaskSolver = BitmaskSolver.forBoxSize(board.getBoxSize());
+        }
+        return bitmaskSolver;
+    }
+
+    /**
+     * Obtém o motor Dancing Links do tamanho do tabuleiro
+     * 
+     * @param board o tabuleiro a ser resolvido
+     * @return o motor deste solucionador para esse tamanho
+     */
+    private DlxSolver dlxSolver(SudokuBoard board) {
+        if (dlxSolver == null || dlxSolver.getBoxSize() != board.getBoxSize()) {
+            dlxSolver = new DlxSolver(board.getBoxSize());
+        }
+        return dlxSolver;
+    }
+
+    /**
+     * Resolve um tabuleiro de Sudoku usando o motor configurado
+     * 
+     * @param board o tabuleiro a ser resolvido
+     * @return true se encontrou uma solução, false caso contrário
+     */
+    public boolean solve(SudokuBoard board) {
+        return solve(board, SolverMetrics.NONE);
+    }
+
+    /**
+     * Resolve um tabuleiro registrando as métricas da busca
+     * 
+     * No motor BACKTRACKING e com cache apenas o tempo de relógio é registrado.
+     * 
+     * @param board   o tabuleiro a ser resolvido
+     * @param metrics coletor das métricas (SolverMetrics.NONE para desligar)
+     * @return true se encontrou uma solução, false caso contrário
+     */
+    public boolean solve(SudokuBoard board, SolverMetrics metrics) {
+        if (cache != null) {
+            metrics.started();
+            SolveCache.Result result = cache.solve(board);
+            if (result.isSolvable()) {
+                result.copyTo(board);
+            }
+            metrics.finished();
+            return result.isSolvable();
+        }
+
+        switch (engine) {
+            case BITMASK:
+                return bitmaskSolver(board).solve(board, metrics);
+            case DLX:
+                return dlxSolver(board).solve(board, metrics);
+            default:
+                metrics.started();
+                boolean solved = solveBacktracking(board);
+                metrics.finished();
+                return solved;
+        }
+    }
+
+    /**
+     * Resolve um tabuleiro de Sudoku usando backtracking
+     * 
+     * @param board o tabuleiro a ser resolvido
+     * @return true se encontrou uma solução, false caso contrário
+     */
+    private boolean solveBacktracking(SudokuBoard board) {
+        // Encontra uma célula vazia
+        int[] emptyCell = findEmptyCell(board);
+
+        // Se não houver células vazias, o tabuleiro está resolvido
+        if (emptyCell == null) {
+            return true;
+        }
+
+        int row = emptyCell[0];
+        int col = emptyCell[1];
+
+        // Tenta cada valor possível (1-9 no tabuleiro 9x9)
+        for (int num = 1; num <= board.getSize(); num++) {
+            // Verifica se o valor é válido nesta posição
+            if (board.isValidMove(row, col, num)) {
+                // Define o valor
+                board.setCellValue(row, col, num);
+
+                // Tenta resolver o resto do tabuleiro
+                if (solveBacktracking(board)) {
+                    return true;
+                }
+
+                // Se não foi possível resolver, desfaz a jogada (backtracking)
+                board.setCellValue(row, col, 0);
+            }
+        }
+
+        // Se nenhum valor funcionou, retorna false (sem solução)
+        return false;
+    }
+
+    /**
+     * Conta quantas soluções diferentes existem para um tabuleiro
+     * Implementado para garantir que os puzzles gerados tenham solução única
+     * 
+     * @param board o tabuleiro a ser verificado
+     * @return o número de soluções encontradas (0, 1 ou 2, já que a contagem
+     *         para ao encontrar a segunda)
+     */
+    public int countSolutions(SudokuBoard board) {
+        return countSolutions(board, SolverMetrics.NONE);
+    }
+
+    /**
+     * Conta as soluções de um tabuleiro registrando as métricas da busca
+     * 
+     * No motor BACKTRACKING e com cache apenas o tempo de relógio é registrado.
+     * 
+     * @param board   o tabuleiro a ser verificado
+     * @param metrics coletor das métricas (SolverMetrics.NONE para desligar)
+     * @return o número de soluções encontradas (0, 1 ou 2)
+     */
+    public int countSolutions(SudokuBoard board, SolverMetrics metrics) {
+        if (cache != null) {
+            metrics.started();
+            SolveCache.Result result = cache.solve(board);
+            metrics.finished();
+            return result.isSolvable() ? (result.isUnique() ? 1 : 2) : 0;
+        }
+
+        switch (engine) {
+            case BITMASK:
+                return bitmaskSolver(board).countSolutions(board, 2, metrics);
+            case DLX:
+                return dlxSolver(board).countSolutions(board, 2, metrics);
+            default:
+                break;
+        }
+
+        metrics.started();
+        solutionCount = 0;
+        countSolutionsRecursive(board);
+        metrics.finished();
+        return solutionCount;
+    }
+
+    /**
+     * Conta as soluções dividindo as primeiras ramificações da busca entre as
+     * threads do pool comum, independentemente do motor configurado
+     * 
+     * Indicado para grades esparsas (menos de 22 pistas) de dificuldade
+     * desconhecida, em que a busca sequencial pode demorar.
+     * 
+     * @param board o tabuleiro a ser verificado (não é alterado)
+     * @return o número de soluções encontradas (0, 1 ou 2)
+     */
+    public int countSolutionsParallel(SudokuBoard board) {
+        return PARALLEL_COUNTER.countSolutions(board, 2);
+    }
+
+    /**
+     * Enumera as soluções do tabuleiro sob demanda, como grades compactas
+     * 
+     * Cada solução é um array com um valor por célula, em ordem de linha. A
+     * busca só avança quando o stream pede o próximo elemento, então limit()
+     * interrompe a enumeração, e parallel() divide a árvore entre as threads.
+     * 
+     * @param board o tabuleiro (não é alterado; alterações feitas enquanto o
+     *              stream é consumido não afetam a enumeração)
+     * @return um stream sequencial e preguiçoso com todas as soluções
+     */
+    public Stream<byte[]> solutionGrids(SudokuBoard board) {
+        return StreamSupport.stream(new SolutionSpliterator(board), false);
+    }
+
+    /**
+     * Enumera as soluções do tabuleiro sob demanda
+     * 
+     * @param board o tabuleiro (não é alterado)
+     * @return um stream sequencial e preguiçoso com um tabuleiro novo para
+     *         cada solução, com as pistas de board bloqueadas para edição
+     * @see #solutionGrids(SudokuBoard)
+     */
+    public Stream<SudokuBoard> solutions(SudokuBoard board) {
+        SudokuBoard puzzle = board.copy();
+        return solutionGrids(board).map(grid -> {
+            SudokuBoard solution = puzzle.copy();
+            for (int cell = 0; cell < grid.length; cell++) {
+                solution.setCellValue(cell, grid[cell]);
+            }
+            return solution;
+        });
+    }
+
+    /**
+     * Método recursivo para contar soluções
+     * 
+     * @param board o tabuleiro a ser verificado
+     */
+    private void countSolutionsRecursive(SudokuBoard board) {
+        // Se já encontramos mais de uma solução, podemos parar
+        if (solutionCount > 1) {
+            return;
+        }
+
+        // Encontra uma célula vazia
+        int[] emptyCell = findEmptyCell(board);
+
+        // Se não houver células vazias, encontramos uma solução
+        if (emptyCell == null) {
+            solutionCount++;
+            return;
+        }
+
+        int row = emptyCell[0];
+        int col = emptyCell[1];
+
+        // Tenta cada valor possível (1-9 no tabuleiro 9x9)
+        for (int num = 1; num <= board.getSize(); num++) {
+            // Verifica se o valor é válido nesta posição
+            if (board.isValidMove(row, col, num)) {
+                // Define o valor
+                board.setCellValue(row, col, num);
+
+                // Tenta resolver o resto do tabuleiro
+                countSolutionsRecursive(board);
+
+                // Se já encontramos mais de uma solução, podemos parar
+                if (solutionCount > 1) {
+                    return;
+                }
+
+                // Desfaz a jogada (backtracking)
+                board.setCellValue(row, col, 0);
+            }
+        }
+    }
+
+    /**
+     * Encontra uma célula vazia no tabuleiro
+     * 
+     * @param board o tabuleiro a ser verificado
+     * @return um array [row, col] com as coordenadas da célula vazia, ou null se
+     *         não houver
+     */
+    private int[] findEmptyCell(SudokuBoard board) {
+        int size = board.getSize();
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (board.getCellValue(i, j) == 0) {
+                    return new int[] { i, j };
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Verifica se uma solução de Sudoku é válida
+     * 
+     * Cada unidade das tabelas compartilhadas de SudokuGeometry é conferida
+     * acumulando os dígitos em uma máscara: a unidade está correta se a
+     * máscara final tiver todos os dígitos. Não aloca memória.
+     * 
+     * @param board o tabuleiro a ser verificado
+     * @return true se a solução for válida, false caso contrário
+     */
+    public boolean isValidSolution(SudokuBoard board) {
+        SudokuGeometry geometry = board.getGeometry();
+        int size = geometry.size;
+
+        // Verifica se todos os valores são válidos (1-9 no tabuleiro 9x9)
+        for (int cell = 0; cell < geometry.cellCount; cell++) {
+            int val = board.getCellValue(cell);
+            if (val < 1 || val > size) {
+                return false;
+            }
+        }
+
+        // Com size células por unidade, só há todos os dígitos se nenhum se
+        // repetir
+        for (int[] unit : geometry.units) {
+            int mask = 0;
+            for (int cell : unit) {
+                mask |= 1 << (board.getCellValue(cell) - 1);
+            }
+            if (mask != geometry.allDigits) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,119 @@
+package sudoku;
+
+import java.util.SplittableRandom;
+
+/**
+ * Transformações de simetria aleatórias de uma grade
+ *
+ * Cada transformação combina permutação dos dígitos, das faixas, das linhas
+ * dentro de cada faixa, das pilhas, das colunas dentro de cada pilha e
+ * transposição (com as permutações, isso inclui as rotações e reflexões). Ela
+ * preserva a validade: uma grade completa continua completa, e um puzzle
+ * continua com o mesmo número de soluções e a mesma dificuldade.
+ *
+ * Uma instância guarda estado e não deve ser compartilhada entre threads.
+ */
+class SudokuSymmetry {
+    private final SudokuGeometry geometry;
+    private final SplittableRandom random;
+
+    // Permutações da transformação atual, reaproveitadas entre os sorteios
+    private final int[] rows;
+    private final int[] cols;
+    private final int[] digits;
+    private final int[] order;
+    private final int[] sourceCell; // Célula de origem de cada célula do destino
+
+    /**
+     * Construtor da classe SudokuSymmetry
+     *
+     * @param geometry geometria das grades transformadas
+     * @param random   fonte aleatória dos sorteios
+     */
+    SudokuSymmetry(SudokuGeometry geometry, SplittableRandom random) {
+        this.geometry = geometry;
+        this.random = random;
+        this.rows = new int[geometry.size];
+        this.cols = new int[geometry.size];
+        this.digits = new int[geometry.size + 1];
+        this.order = new int[geometry.boxSize];
+        this.sourceCell = new int[geometry.cellCount];
+    }
+
+    /**
+     * Sorteia uma nova transformação, usada pelos próximos apply
+     */
+    void next() {
+        shuffleLines(rows);
+        shuffleLines(cols);
+        for (int digit = 1; digit <= geometry.size; digit++) {
+            digits[digit] = digit;
+        }
+        shuffle(digits, 1, geometry.size);
+        boolean transpose = random.nextBoolean();
+
+        int size = geometry.size;
+        for (int row = 0; row < size; row++) {
+            int sourceRow = rows[row] * size;
+            for (int col = 0; col < size; col++) {
+                sourceCell[transpose ? col * size + row : row * size + col] = sourceRow + cols[col];
+            }
+        }
+    }
+
+    /**
+     * Aplica a transformação atual (0 continua vazio)
+     *
+     * @param source valores em ordem de linha
+     * @param dest   destino, com tamanho² posições
+     */
+    void apply(byte[] source, byte[] dest) {
+        for (int cell = 0; cell < sourceCell.length; cell++) {
+            dest[cell] = (byte) digits[source[sourceCell[cell]]];
+        }
+    }
+
+    /**
+     * Aplica a transformação atual (0 continua vazio)
+     *
+     * @param source valores em ordem de linha
+     * @param dest   destino, com tamanho² posições
+     */
+    void apply(int[] source, byte[] dest) {
+        for (int cell = 0; cell < sourceCell.length; cell++) {
+            dest[cell] = (byte) digits[source[sourceCell[cell]]];
+        }
+    }
+
+    /**
+     * Sorteia uma permutação de linhas (ou colunas) que preserva os
+     * quadrantes: a ordem dos blocos e a ordem dentro de cada bloco
+     */
+    private void shuffleLines(int[] lines) {
+        int boxSize = geometry.boxSize;
+        for (int i = 0; i < boxSize; i++) {
+            order[i] = i;
+        }
+        shuffle(order, 0, boxSize);
+
+        for (int block = 0; block < boxSize; block++) {
+            int start = block * boxSize;
+            for (int k = 0; k < boxSize; k++) {
+                lines[start + k] = order[block] * boxSize + k;
+            }
+            shuffle(lines, start, boxSize);
+        }
+    }
+
+    /**
+     * Embaralha length posições a partir de start (Fisher-Yates)
+     */
+    private void shuffle(int[] values, int start, int length) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[start + i];
+            values[start + i] = values[start + j];
+            values[start + j] = tmp;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package sudoku;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Geração de puzzles por transformações de simetria sobre um conjunto de
+ * puzzles semente já verificados
+ *
+ * Cada puzzle novo é uma semente sorteada com uma transformação aleatória que
+ * preserva a validade (SudokuSymmetry): permutação dos dígitos, das faixas,
+ * das linhas dentro de cada faixa, das pilhas, das colunas dentro de cada
+ * pilha e transposição. A solução continua única e as técnicas necessárias, e
+ * portanto a dificuldade, não mudam.
+ *
+ * Uma transformação custa alguns sorteios e uma passada pelas células, sem
+ * nenhuma busca, então a vazão chega a milhões de puzzles por segundo. Os
+ * puzzles são variados estatisticamente, mas todos equivalentes a alguma
+ * semente: use este modo quando volume importa mais que novidade.
+ *
+ * Uma instância não deve ser compartilhada entre threads.
+ */
+class SudokuTransformGenerator {
+    private final SudokuGeometry geometry;
+    private final byte[][] seeds;
+    private final SplittableRandom random;
+
+    private final SudokuSymmetry symmetry;
+    private final byte[] puzzle; // Puzzle transformado antes da carga no tabuleiro
+
+    /**
+     * Construtor da classe SudokuTransformGenerator
+     *
+     * Cada semente é conferida quanto à unicidade da solução.
+     *
+     * @param seeds  puzzles semente, todos do mesmo tamanho (são copiados)
+     * @param random fonte aleatória das transformações
+     * @throws IllegalArgumentException se não houver sementes, se os tamanhos
+     *                                  forem diferentes ou se alguma semente
+     *                                  não tiver solução única
+     */
+    public SudokuTransformGenerator(List<SudokuBoard> seeds, SplittableRandom random) {
+        if (seeds.isEmpty()) {
+            throw new IllegalArgumentException("É preciso pelo menos um puzzle semente");
+        }
+
+        this.geometry = seeds.get(0).getGeometry();
+        this.random = random;
+        this.seeds = new byte[seeds.size()][];
+
+        BitmaskSolver solver = BitmaskSolver.forBoxSize(geometry.boxSize);
+        for (int i = 0; i < seeds.size(); i++) {
+            SudokuBoard seed = seeds.get(i);
+            if (seed.getGeometry() != geometry) {
+                throw new IllegalArgumentException("Semente " + i + " tem tamanho " + seed.getSize() + ", esperado "
+                        + geometry.size);
+            }
+            if (solver.countSolutions(seed.copy(), 2) != 1) {
+                throw new IllegalArgumentException("Semente " + i + " não tem solução única");
+            }
+
+            byte[] cells = new byte[geometry.cellCount];
+            for (int cell = 0; cell < cells.length; cell++) {
+                cells[cell] = (byte) seed.getCellValue(cell);
+            }
+            this.seeds[i] = cells;
+        }
+
+        symmetry = new SudokuSymmetry(geometry, random);
+        puzzle = new byte[geometry.cellCount];
+    }
+
+    /**
+     * Cria um gerador com sementes produzidas por um SudokuGenerator
+     *
+     * @param generator  gerador das sementes
+     * @param difficulty nível de dificuldade das sementes (e dos puzzles)
+     * @param seedCount  quantidade de sementes
+     * @param random     fonte aleatória das transformações
+     * @return o gerador por transformações
+     */
+    public static SudokuTransformGenerator fromGenerator(SudokuGenerator generator, Difficulty difficulty,
+            int seedCount, SplittableRandom random) {
+        if (seedCount < 1) {
+            throw new IllegalArgumentException("seedCount deve ser maior que zero: " + seedCount);
+        }
+
+        SudokuBoard[] seeds = new SudokuBoard[seedCount];
+        for (int i = 0; i < seedCount; i++) {
+            seeds[i] = new SudokuBoard();
+            generator.generatePuzzle(seeds[i], difficulty);
+        }
+        return new SudokuTransformGenerator(List.of(seeds), random);
+    }
+
+    /**
+     * Obtém a quantidade de puzzles semente
+     *
+     * @return o número de sementes
+     */
+    public int getSeedCount() {
+        return seeds.length;
+    }
+
+    /**
+     * Preenche o tabuleiro com um puzzle novo
+     *
+     * As pistas ficam bloqueadas para edição e as demais células vazias e
+     * editáveis.
+     *
+     * @param board tabuleiro do mesmo tamanho das sementes
+     * @throws IllegalArgumentException se o tamanho do tabuleiro for outro
+     */
+    public void generate(SudokuBoard board) {
+        if (board.getGeometry() != geometry) {
+            throw new IllegalArgumentException("Tabuleiro de tamanho " + board.getSize() + ", esperado "
+                    + geometry.size);
+        }
+
+        byte[] seed = seeds[random.nextInt(seeds.length)];
+        symmetry.next();
+        symmetry.apply(seed, puzzle);
+        board.loadPuzzle(puzzle);
+    }
+
+    /**
+     * Gera um puzzle novo em um tabuleiro novo
+     *
+     * @return o puzzle, com as pistas bloqueadas para edição
+     */
+    public SudokuBoard generate() {
+        SudokuBoard board = new SudokuBoard(geometry.boxSize);
+        generate(board);
+        return board;
+    }
+
+    /**
+     * Gera puzzles como um stream sequencial
+     *
+     * @param count quantidade de puzzles
+     * @return um stream com count puzzles novos
+     */
+    public Stream<SudokuBoard> stream(long count) {
+        return Stream.generate(this::generate).limit(count);
+    }
+}
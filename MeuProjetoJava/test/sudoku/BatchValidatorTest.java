@@ -0,0 +1,133 @@
+package sudoku;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class BatchValidatorTest {
+    private static final int VALID = 0;
+    private static final int EMPTY_CELL = 1;
+    private static final int SWAPPED_CELLS = 2;
+    private static final int WRONG_DIGIT = 3;
+    private static final int ABOVE_SIZE = 4; // Cabe nos planos de bits
+    private static final int OVERFLOW = 5; // Não cabe nos planos; os bits baixos são os do valor certo
+    private static final int SWAPPED_ROWS = 6; // Continua válido
+    private static final int KINDS = 7;
+
+    @Test
+    void matchesIsValidSolutionOnNineByNine() {
+        // Lotes com o último bloco completo e incompleto
+        for (int count : new int[] { 1, 63, 64, 65, 357 }) {
+            assertMatchesIsValidSolution(3, count, count);
+        }
+    }
+
+    @Test
+    void matchesIsValidSolutionOnOtherSizes() {
+        assertMatchesIsValidSolution(2, 200, 2);
+        assertMatchesIsValidSolution(4, 130, 4);
+    }
+
+    @Test
+    void overflowInvalidatesOnlyItsBoard() {
+        SudokuBoard solved = new SolutionGridGenerator(3, 5L).generate();
+        GridBatch batch = new GridBatch(3, 128);
+        for (int i = 0; i < 100; i++) {
+            batch.add(solved);
+        }
+        // Acima de 15 só os bits altos diferem do valor certo, e só a
+        // conferência à parte percebe
+        batch.set(5, 0, solved.getCellValue(0) + 16);
+        batch.set(63, 80, solved.getCellValue(80) + 240);
+        batch.set(64, 40, 10);
+        batch.set(99, 7, 15);
+
+        long[] result = new long[2];
+        assertEquals(96, new BatchValidator(3).validate(batch, result));
+        assertEquals(~(1L << 5 | 1L << 63), result[0]);
+        assertEquals(((1L << 36) - 1) & ~(1L << 0 | 1L << 35), result[1]);
+    }
+
+    /**
+     * Monta um lote com soluções e variações sorteadas e compara cada bit do
+     * resultado com isValidSolution
+     *
+     * SudokuBoard não guarda valores acima do tamanho; no tabuleiro de
+     * referência eles viram 0, que isValidSolution rejeita pela mesma regra.
+     */
+    private static void assertMatchesIsValidSolution(int boxSize, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        SolutionGridGenerator grids = new SolutionGridGenerator(boxSize, random.split());
+        int size = boxSize * boxSize;
+        int cellCount = size * size;
+        int planes = 32 - Integer.numberOfLeadingZeros(size);
+
+        GridBatch batch = new GridBatch(boxSize, count);
+        SudokuBoard[] references = new SudokuBoard[count];
+        for (int g = 0; g < count; g++) {
+            SudokuBoard board = grids.generate();
+            int kind = random.nextInt(KINDS);
+            int cell = random.nextInt(cellCount);
+            int stored = -1; // Valor gravado só no lote
+
+            switch (kind) {
+                case EMPTY_CELL:
+                    board.setCellValue(cell, 0);
+                    break;
+                case SWAPPED_CELLS:
+                    int other = random.nextInt(cellCount);
+                    int value = board.getCellValue(cell);
+                    board.setCellValue(cell, board.getCellValue(other));
+                    board.setCellValue(other, value);
+                    break;
+                case WRONG_DIGIT:
+                    board.setCellValue(cell, random.nextInt(size) + 1);
+                    break;
+                case ABOVE_SIZE:
+                    stored = size + 1 + random.nextInt((1 << planes) - size - 1);
+                    break;
+                case OVERFLOW:
+                    stored = board.getCellValue(cell) + (1 + random.nextInt((255 - size) >> planes) << planes);
+                    break;
+                case SWAPPED_ROWS:
+                    int band = random.nextInt(boxSize) * boxSize;
+                    int first = band + random.nextInt(boxSize);
+                    int second = band + random.nextInt(boxSize);
+                    for (int col = 0; col < size; col++) {
+                        int swap = board.getCellValue(first, col);
+                        board.setCellValue(first, col, board.getCellValue(second, col));
+                        board.setCellValue(second, col, swap);
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            batch.add(board);
+            if (stored >= 0) {
+                batch.set(g, cell, stored);
+                board.setCellValue(cell, 0);
+            }
+            references[g] = board;
+        }
+
+        long[] result = new long[(count + 63) / 64];
+        int valid = new BatchValidator(boxSize).validate(batch, result);
+
+        SudokuSolver solver = new SudokuSolver();
+        int expectedValid = 0;
+        for (int g = 0; g < count; g++) {
+            boolean expected = solver.isValidSolution(references[g]);
+            expectedValid += expected ? 1 : 0;
+            assertEquals(expected, (result[g / 64] >>> (g % 64) & 1) != 0, "tabuleiro " + g + " de " + count);
+        }
+        assertEquals(expectedValid, valid);
+
+        // Bits além de size() ficam zerados
+        if (count % 64 != 0) {
+            assertEquals(0, result[count / 64] >>> (count % 64));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package sudoku;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.Test;
+
+class SolutionSpliteratorTest {
+    private static final String SEVENTEEN_CLUE =
+            "000000010400000000020000000000050407008000300001090000300400200050100000000806000";
+
+    @Test
+    void parallelStreamSplitsSeventeenCluePuzzle() {
+        SudokuBoard board = parse(SEVENTEEN_CLUE);
+        AtomicInteger splits = new AtomicInteger();
+
+        List<byte[]> solutions = StreamSupport.stream(new CountingSpliterator(new SolutionSpliterator(board), splits),
+                true).collect(Collectors.toList());
+
+        assertTrue(splits.get() > 1, "divisões: " + splits.get());
+        assertEquals(1, solutions.size());
+        SudokuBoard solved = board.copy();
+        for (int cell = 0; cell < 81; cell++) {
+            solved.setCellValue(cell, solutions.get(0)[cell]);
+        }
+        assertTrue(new SudokuSolver().isValidSolution(solved));
+    }
+
+    @Test
+    void splitsKeepEverySolutionOfAnEmptyFourByFourBoard() {
+        // Um 4x4 vazio tem 288 soluções
+        SudokuBoard board = new SudokuBoard(2);
+        AtomicInteger splits = new AtomicInteger();
+
+        Set<String> solutions = StreamSupport
+                .stream(new CountingSpliterator(new SolutionSpliterator(board), splits), true)
+                .map(Arrays::toString).collect(Collectors.toSet());
+
+        assertTrue(splits.get() > 1, "divisões: " + splits.get());
+        assertEquals(288, solutions.size());
+        assertEquals(288, new SudokuSolver().solutionGrids(board).count());
+    }
+
+    @Test
+    void splitAfterPartialTraversalKeepsRemainingSolutions() {
+        SudokuBoard board = new SudokuBoard(2);
+        SolutionSpliterator spliterator = new SolutionSpliterator(board);
+        Set<String> solutions = new HashSet<>();
+        Consumer<byte[]> collect = grid -> assertTrue(solutions.add(Arrays.toString(grid)));
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(spliterator.tryAdvance(collect));
+        }
+        Spliterator<byte[]> split = spliterator.trySplit();
+        spliterator.forEachRemaining(collect);
+        if (split != null) {
+            split.forEachRemaining(collect);
+        }
+
+        assertEquals(288, solutions.size());
+    }
+
+    private static SudokuBoard parse(String text) {
+        SudokuBoard board = new SudokuBoard();
+        for (int cell = 0; cell < 81; cell++) {
+            board.setCellValue(cell, text.charAt(cell) - '0');
+        }
+        return board;
+    }
+
+    /**
+     * Conta as divisões bem-sucedidas, inclusive as das partes
+     */
+    private static final class CountingSpliterator implements Spliterator<byte[]> {
+        private final Spliterator<byte[]> delegate;
+        private final AtomicInteger splits;
+
+        CountingSpliterator(Spliterator<byte[]> delegate, AtomicInteger splits) {
+            this.delegate = delegate;
+            this.splits = splits;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super byte[]> action) {
+            return delegate.tryAdvance(action);
+        }
+
+        @Override
+        public Spliterator<byte[]> trySplit() {
+            Spliterator<byte[]> split = delegate.trySplit();
+            if (split == null) {
+                return null;
+            }
+            splits.incrementAndGet();
+            return new CountingSpliterator(split, splits);
+        }
+
+        @Override
+        public long estimateSize() {
+            return delegate.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return delegate.characteristics();
+        }
+    }
+}
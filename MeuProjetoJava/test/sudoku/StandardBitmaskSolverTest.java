@@ -0,0 +1,130 @@
+package sudoku;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Confere que o motor especializado no 9x9 dá as mesmas respostas que o motor
+ * genérico, já que os dois têm cópias da propagação e da busca
+ */
+class StandardBitmaskSolverTest {
+    private static final String[] CORPUS = {
+            "530070000600195000098000060800060003400803001700020006060000280000419005000080079",
+            "000000907000420180000705026100904000050000040000507009920108000034059000507000000",
+            "800000000003600000070090200050007000000045700000100030001000068008500010090000400",
+            "000000010400000000020000000000050407008000300001090000300400200050100000000806000",
+            "000000000000000000000000000000000000000000000000000000000000000000000000000000000",
+            "110000000000000000000000000000000000000000000000000000000000000000000000000000000" };
+
+    @Test
+    void forBoxSizeReturnsTheSpecializedEngine() {
+        assertTrue(BitmaskSolver.forBoxSize(3) instanceof StandardBitmaskSolver);
+    }
+
+    @Test
+    void corpusGivesTheSameAnswers() {
+        for (String puzzle : CORPUS) {
+            assertSameAnswers(parse(puzzle));
+        }
+    }
+
+    @Test
+    void randomPuzzlesGiveTheSameAnswers() {
+        SplittableRandom random = new SplittableRandom(2024);
+        SudokuGenerator generator = new SudokuGenerator(random.split());
+        SolutionGridGenerator grids = new SolutionGridGenerator(3, random.split());
+
+        for (int i = 0; i < 100; i++) {
+            // Puzzles de solução única
+            SudokuBoard puzzle = new SudokuBoard();
+            generator.generatePuzzle(puzzle, 40 + random.nextInt(20));
+            assertSameAnswers(puzzle);
+
+            // Pistas sorteadas de uma grade: várias soluções ou nenhuma
+            SudokuBoard sparse = grids.generate();
+            for (int cell = 0; cell < 81; cell++) {
+                if (random.nextInt(100) < 75) {
+                    sparse.setCellValue(cell, 0);
+                }
+            }
+            if (i % 4 == 0) {
+                sparse.setCellValue(random.nextInt(81), random.nextInt(9) + 1);
+            }
+            assertSameAnswers(sparse);
+        }
+    }
+
+    @Test
+    void tryRemoveMakesTheSameDecisions() {
+        SplittableRandom random = new SplittableRandom(7);
+        SolutionGridGenerator grids = new SolutionGridGenerator(3, random.split());
+
+        for (int i = 0; i < 20; i++) {
+            SudokuBoard grid = grids.generate();
+            BitmaskSolver standard = BitmaskSolver.forBoxSize(3);
+            BitmaskSolver generic = new BitmaskSolver(3);
+            assertTrue(standard.beginRemovals(grid));
+            assertTrue(generic.beginRemovals(grid));
+
+            int[] order = new int[81];
+            for (int cell = 0; cell < 81; cell++) {
+                order[cell] = cell;
+            }
+            for (int k = 80; k > 0; k--) {
+                int j = random.nextInt(k + 1);
+                int tmp = order[k];
+                order[k] = order[j];
+                order[j] = tmp;
+            }
+            for (int cell : order) {
+                assertEquals(generic.tryRemove(cell), standard.tryRemove(cell), "célula " + cell);
+            }
+        }
+    }
+
+    /**
+     * Compara resolução, contagem e propagação nos dois motores
+     */
+    private static void assertSameAnswers(SudokuBoard puzzle) {
+        BitmaskSolver standard = BitmaskSolver.forBoxSize(3);
+        BitmaskSolver generic = new BitmaskSolver(3);
+
+        SudokuBoard expected = puzzle.copy();
+        SudokuBoard actual = puzzle.copy();
+        assertEquals(generic.solve(expected), standard.solve(actual));
+        assertArrayEquals(values(expected), values(actual));
+
+        assertEquals(generic.countSolutions(puzzle.copy(), 2), standard.countSolutions(puzzle.copy(), 2));
+
+        expected = puzzle.copy();
+        actual = puzzle.copy();
+        assertEquals(generic.solveAndCount(expected, 2), standard.solveAndCount(actual, 2));
+        assertArrayEquals(values(expected), values(actual));
+
+        expected = puzzle.copy();
+        actual = puzzle.copy();
+        assertEquals(generic.propagateInto(expected), standard.propagateInto(actual));
+        assertArrayEquals(values(expected), values(actual));
+    }
+
+    private static int[] values(SudokuBoard board) {
+        int[] values = new int[81];
+        for (int cell = 0; cell < 81; cell++) {
+            values[cell] = board.getCellValue(cell);
+        }
+        return values;
+    }
+
+    private static SudokuBoard parse(String text) {
+        SudokuBoard board = new SudokuBoard();
+        for (int cell = 0; cell < 81; cell++) {
+            board.setCellValue(cell, text.charAt(cell) - '0');
+        }
+        return board;
+    }
+}
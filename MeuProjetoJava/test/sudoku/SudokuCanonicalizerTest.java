@@ -0,0 +1,102 @@
+package sudoku;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class SudokuCanonicalizerTest {
+    private static final String SEVENTEEN_CLUE =
+            "000000010400000000020000000000050407008000300001090000300400200050100000000806000";
+
+    @Test
+    void equivalentPuzzlesShareTheCanonicalForm() {
+        SudokuGenerator generator = new SudokuGenerator(new SplittableRandom(42));
+        SudokuSymmetry symmetry = new SudokuSymmetry(SudokuGeometry.of(3), new SplittableRandom(7));
+        SudokuCanonicalizer canonicalizer = new SudokuCanonicalizer();
+
+        for (int i = 0; i < 50; i++) {
+            SudokuBoard puzzle = new SudokuBoard();
+            generator.generatePuzzle(puzzle, 45);
+            assertInvariant(canonicalizer, symmetry, puzzle);
+        }
+        assertInvariant(canonicalizer, symmetry, parse(SEVENTEEN_CLUE));
+
+        SudokuBoard single = new SudokuBoard();
+        single.setCellValue(40, 5);
+        assertInvariant(canonicalizer, symmetry, single);
+    }
+
+    @Test
+    void differentPuzzlesHaveDifferentFingerprints() {
+        SudokuCanonicalizer canonicalizer = new SudokuCanonicalizer();
+        SudokuBoard puzzle = parse(SEVENTEEN_CLUE);
+        SudokuBoard other = puzzle.copy();
+        other.setCellValue(0, 9);
+
+        long[] first = new long[2];
+        long[] second = new long[2];
+        canonicalizer.fingerprint(puzzle, first);
+        canonicalizer.fingerprint(other, second);
+
+        assertFalse(Arrays.equals(first, second));
+    }
+
+    @Test
+    void canonicalFormIsEquivalentToThePuzzle() {
+        SudokuBoard puzzle = parse(SEVENTEEN_CLUE);
+        SudokuBoard canonical = new SudokuCanonicalizer().canonicalForm(puzzle);
+
+        assertEquals(puzzle.getFilledCount(), canonical.getFilledCount());
+        assertEquals(1, new SudokuSolver().countSolutions(canonical.copy()));
+        assertArrayEquals(values(canonical), values(new SudokuCanonicalizer().canonicalForm(canonical)));
+    }
+
+    /**
+     * Confere que transformações sorteadas do puzzle têm a mesma forma
+     * canônica e a mesma impressão digital
+     */
+    private static void assertInvariant(SudokuCanonicalizer canonicalizer, SudokuSymmetry symmetry,
+            SudokuBoard puzzle) {
+        int[] form = values(canonicalizer.canonicalForm(puzzle));
+        long[] fingerprint = new long[2];
+        canonicalizer.fingerprint(puzzle, fingerprint);
+
+        byte[] source = new byte[81];
+        for (int cell = 0; cell < 81; cell++) {
+            source[cell] = (byte) puzzle.getCellValue(cell);
+        }
+        byte[] transformed = new byte[81];
+        long[] other = new long[2];
+        for (int k = 0; k < 4; k++) {
+            symmetry.next();
+            symmetry.apply(source, transformed);
+            SudokuBoard copy = new SudokuBoard();
+            copy.loadPuzzle(transformed);
+
+            assertArrayEquals(form, values(canonicalizer.canonicalForm(copy)));
+            canonicalizer.fingerprint(copy, other);
+            assertArrayEquals(fingerprint, other);
+        }
+    }
+
+    private static int[] values(SudokuBoard board) {
+        int[] values = new int[81];
+        for (int cell = 0; cell < 81; cell++) {
+            values[cell] = board.getCellValue(cell);
+        }
+        return values;
+    }
+
+    private static SudokuBoard parse(String text) {
+        SudokuBoard board = new SudokuBoard();
+        for (int cell = 0; cell < 81; cell++) {
+            board.setCellValue(cell, text.charAt(cell) - '0');
+        }
+        return board;
+    }
+}
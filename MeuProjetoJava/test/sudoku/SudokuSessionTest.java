@@ -0,0 +1,136 @@
+package sudoku;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SudokuSessionTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void recoverReplaysAnInterruptedSession() throws IOException {
+        Path file = dir.resolve("partida.sdkj");
+        SudokuBoard puzzle = puzzle();
+        SudokuSession expected = new SudokuSession(puzzle.copy());
+        SudokuSession session = SudokuSession.open(puzzle.copy(), file);
+        try {
+            play(puzzle, expected, session);
+
+            // Sem close(): os eventos só passaram pelo sistema operacional
+            try (SudokuSession recovered = SudokuSession.recover(file)) {
+                assertSameState(expected, recovered);
+            }
+        } finally {
+            session.close();
+        }
+    }
+
+    @Test
+    void recoverTruncatesATornTail() throws IOException {
+        Path file = dir.resolve("partida.sdkj");
+        SudokuBoard puzzle = puzzle();
+        SudokuSession expected = new SudokuSession(puzzle.copy());
+        try (SudokuSession session = SudokuSession.open(puzzle.copy(), file)) {
+            play(puzzle, expected, session);
+        }
+        long complete = Files.size(file);
+
+        // Metade de um evento, como numa queda no meio da gravação
+        Files.write(file, new byte[] { 0x10, 0x00 }, StandardOpenOption.APPEND);
+
+        try (SudokuSession recovered = SudokuSession.recover(file)) {
+            assertEquals(complete, Files.size(file));
+            assertSameState(expected, recovered);
+        }
+
+        // Os eventos gravados depois da recuperação continuam do último
+        // evento inteiro
+        try (SudokuSession again = SudokuSession.recover(file)) {
+            assertSameState(expected, again);
+        }
+    }
+
+    /**
+     * Puzzle fixo com células editáveis
+     */
+    private static SudokuBoard puzzle() {
+        SudokuBoard puzzle = new SudokuBoard();
+        new SudokuGenerator(new SplittableRandom(11)).generatePuzzle(puzzle, 40);
+        return puzzle;
+    }
+
+    /**
+     * Jogadas, apagamentos, desfazer e refazer nas duas sessões, deixando
+     * jogadas desfeitas à frente do cursor
+     */
+    private static void play(SudokuBoard puzzle, SudokuSession... sessions) {
+        SudokuBoard solution = puzzle.copy();
+        assertTrue(new SudokuSolver().solve(solution));
+
+        for (SudokuSession session : sessions) {
+            int played = 0;
+            for (int cell = 0; cell < 81 && played < 8; cell++) {
+                if (puzzle.getCellValue(cell) == 0) {
+                    assertTrue(session.play(cell / 9, cell % 9, solution.getCellValue(cell)).isApplied());
+                    played++;
+                    if (played == 3) {
+                        assertTrue(session.play(cell / 9, cell % 9, 0).isApplied());
+                    }
+                }
+            }
+            assertTrue(session.undo());
+            assertTrue(session.undo());
+            assertTrue(session.redo());
+            assertTrue(session.undo());
+        }
+    }
+
+    /**
+     * Compara tabuleiro, edição das células e a profundidade de desfazer e
+     * refazer; as duas sessões voltam ao estado em que estavam
+     */
+    private static void assertSameState(SudokuSession expected, SudokuSession actual) {
+        assertBoardsEqual(expected.getBoard(), actual.getBoard());
+
+        int redos = 0;
+        while (expected.redo()) {
+            assertTrue(actual.redo(), "refazer " + redos);
+            redos++;
+        }
+        assertEquals(false, actual.redo());
+        assertBoardsEqual(expected.getBoard(), actual.getBoard());
+
+        int undos = 0;
+        while (expected.undo()) {
+            assertTrue(actual.undo(), "desfazer " + undos);
+            undos++;
+        }
+        assertEquals(false, actual.undo());
+        assertBoardsEqual(expected.getBoard(), actual.getBoard());
+
+        for (int i = 0; i < undos - redos; i++) {
+            assertTrue(expected.redo());
+            assertTrue(actual.redo());
+        }
+        assertBoardsEqual(expected.getBoard(), actual.getBoard());
+    }
+
+    private static void assertBoardsEqual(SudokuBoard expected, SudokuBoard actual) {
+        for (int cell = 0; cell < 81; cell++) {
+            int row = cell / 9;
+            int col = cell % 9;
+            assertEquals(expected.getCellValue(cell), actual.getCellValue(cell), "valor da célula " + cell);
+            assertEquals(expected.isCellEditable(row, col), actual.isCellEditable(row, col),
+                    "edição da célula " + cell);
+        }
+    }
+}